@@ -0,0 +1,79 @@
+package com.example.employeeapi.benchmark;
+
+import com.example.employeeapi.EmployeeApiApplication;
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.model.LeaveRequestDto;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.service.LeaveRequestService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The whole {@link LeaveRequestService#createLeaveRequest} path, lookup, validation, mapping and insert, against the
+ * in-memory H2 database from the test configuration. Every invocation asks for the same week, so the request it
+ * created is deleted again after each invocation, outside the measured time; otherwise every call after the first
+ * would only measure the overlap rejection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreateLeaveRequestBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private LeaveRequestService leaveRequestService;
+    private Long employeeId;
+    private LocalDate monday;
+    private Long createdId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(EmployeeApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--logging.level.root=WARN");
+        leaveRequestService = context.getBean(LeaveRequestService.class);
+        Employee employee = context.getBean(EmployeeRepository.class).save(Employee.builder()
+                .name("Benchmark Employee")
+                .hireDate(LocalDate.now().minusYears(5))
+                .remainingLeaveDays(Integer.MAX_VALUE)
+                .build());
+        employeeId = employee.getId();
+        monday = LocalDate.now().plusWeeks(2).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteCreated() {
+        if (createdId != null) {
+            leaveRequestService.deleteLeaveRequest(createdId);
+            createdId = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public LeaveRequest createLeaveRequest() {
+        LeaveRequest created = leaveRequestService.createLeaveRequest(LeaveRequestDto.builder()
+                .employeeId(employeeId)
+                .startDate(monday)
+                .endDate(monday.plusDays(4))
+                .reason(LeaveRequestReason.VACATION)
+                .build());
+        createdId = created.getId();
+        return created;
+    }
+}
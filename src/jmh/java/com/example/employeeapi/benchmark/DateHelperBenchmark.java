@@ -0,0 +1,49 @@
+package com.example.employeeapi.benchmark;
+
+import com.example.employeeapi.helper.DateHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the constant-time leave day count in {@link DateHelper} with the day-by-day loop it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateHelperBenchmark {
+
+    @Param({"5", "30", "365"})
+    public int spanDays;
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        startDate = LocalDate.of(2024, 3, 6);
+        endDate = startDate.plusDays(spanDays);
+    }
+
+    @Benchmark
+    public int calculateLeaveDays() {
+        return DateHelper.calculateLeaveDays(startDate, endDate);
+    }
+
+    @Benchmark
+    public int calculateLeaveDaysLoop() {
+        int leaveDays = 1;
+        for (LocalDate date = startDate; date.isBefore(endDate); date = date.plusDays(1)) {
+            DayOfWeek dayOfWeek = date.getDayOfWeek();
+            if (dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY) {
+                leaveDays++;
+            }
+        }
+        return leaveDays;
+    }
+}
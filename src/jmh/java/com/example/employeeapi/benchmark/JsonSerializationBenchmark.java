@@ -0,0 +1,58 @@
+package com.example.employeeapi.benchmark;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes list responses with an object mapper configured the way Spring MVC configures its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"50", "500"})
+    public int listSize;
+
+    private ObjectWriter writer;
+    private List<Employee> employees;
+    private List<LeaveRequest> leaveRequests;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        employees = new ArrayList<>(listSize);
+        leaveRequests = new ArrayList<>(listSize);
+        LocalDate start = LocalDate.of(2030, 1, 7);
+        for (int i = 0; i < listSize; i++) {
+            Employee employee = new Employee((long) i, "Employee " + i, LocalDate.of(2010, 1, 1).plusDays(i), 15, 0L);
+            employees.add(employee);
+            leaveRequests.add(new LeaveRequest((long) i, employee, start.plusDays(i), start.plusDays(i + 2), 3,
+                    LeaveRequestStatus.WAITING_FOR_APPROVAL, LeaveRequestReason.VACATION, "note " + i, 0L));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeEmployees() throws JsonProcessingException {
+        return writer.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] serializeLeaveRequests() throws JsonProcessingException {
+        return writer.writeValueAsBytes(leaveRequests);
+    }
+}
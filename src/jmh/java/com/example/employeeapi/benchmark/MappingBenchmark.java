@@ -0,0 +1,69 @@
+package com.example.employeeapi.benchmark;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.mapper.EmployeeMapper;
+import com.example.employeeapi.mapper.LeaveRequestMapper;
+import com.example.employeeapi.model.EmployeeDto;
+import com.example.employeeapi.model.LeaveRequestDto;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-map cost of the generated mappers against the reflective {@link ModelMapper} they replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final EmployeeMapper employeeMapper = Mappers.getMapper(EmployeeMapper.class);
+    private final LeaveRequestMapper leaveRequestMapper = Mappers.getMapper(LeaveRequestMapper.class);
+
+    private Employee employee;
+    private LeaveRequestDto leaveRequestDto;
+
+    @Setup
+    public void setUp() {
+        employee = new Employee(42L, "Jane Doe", LocalDate.of(2018, 4, 16), 15, 0L);
+        leaveRequestDto = LeaveRequestDto.builder()
+                .employeeId(42L)
+                .startDate(LocalDate.of(2030, 3, 4))
+                .endDate(LocalDate.of(2030, 3, 8))
+                .totalLeaveDays(5)
+                .reason(LeaveRequestReason.VACATION)
+                .build();
+        // first call builds ModelMapper's type map; keep that out of the measurement
+        modelMapper.map(employee, EmployeeDto.class);
+        modelMapper.map(leaveRequestDto, LeaveRequest.class);
+    }
+
+    @Benchmark
+    public EmployeeDto employeeToDtoModelMapper() {
+        return modelMapper.map(employee, EmployeeDto.class);
+    }
+
+    @Benchmark
+    public EmployeeDto employeeToDtoMapStruct() {
+        return employeeMapper.toDto(employee);
+    }
+
+    @Benchmark
+    public LeaveRequest leaveRequestToEntityModelMapper() {
+        return modelMapper.map(leaveRequestDto, LeaveRequest.class);
+    }
+
+    @Benchmark
+    public LeaveRequest leaveRequestToEntityMapStruct() {
+        return leaveRequestMapper.toEntity(leaveRequestDto, employee);
+    }
+}
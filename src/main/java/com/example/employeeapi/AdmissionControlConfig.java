@@ -0,0 +1,29 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.controller.AdmissionControlInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Puts {@link AdmissionControlInterceptor} in front of both controllers. Off by default; switch on with
+ * {@code employee-api.admission.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee-api.admission.enabled", havingValue = "true")
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+
+    @Autowired
+    public AdmissionControlConfig(AdmissionControlInterceptor admissionControlInterceptor) {
+        this.admissionControlInterceptor = admissionControlInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admissionControlInterceptor).addPathPatterns("/employee/**", "/leaveRequest/**");
+    }
+}
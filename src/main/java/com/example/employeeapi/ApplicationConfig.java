@@ -1,11 +1,14 @@
 package com.example.employeeapi;
 
-import org.modelmapper.ModelMapper;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import springfox.documentation.builders.PathSelectors;
 import springfox.documentation.builders.RequestHandlerSelectors;
 import springfox.documentation.spi.DocumentationType;
@@ -15,11 +18,13 @@ import springfox.documentation.spring.web.plugins.Docket;
 @EnableJpaRepositories(basePackages = "com.example.employeeapi")
 @ComponentScan("com.example.employeeapi")
 @EntityScan(basePackages = "com.example.employeeapi")
+@EnableScheduling
+@EnableCaching
 public class ApplicationConfig {
 
     @Bean
-    public ModelMapper modelMapper() {
-        return new ModelMapper();
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
     }
 
     @Bean
@@ -0,0 +1,56 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.Employee;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate's second-level cache for {@link Employee}, held in a Caffeine JCache manager owned by this application
+ * context. Hibernate is handed the manager rather than looking one up, so the region is bounded by
+ * {@code employee-api.second-level-cache.*} and a context never sees another context's entries.
+ * <p>
+ * Leave requests are not cached: a {@code findById} answered from the cache skips the {@code employee} entity graph,
+ * leaving a proxy that cannot be serialized once the session is closed.
+ * <p>
+ * Entity writes through Hibernate keep the regions current. JPQL bulk statements on an entity evict its region
+ * when they commit, and native statements evict only the regions of the tables they name as query spaces.
+ * This is separate from the {@code employees} application cache in {@code EmployeeLookupService}.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${employee-api.second-level-cache.employees.max-size:10000}") long employeeMaxSize,
+            @Value("${employee-api.second-level-cache.expire-after-write:PT10M}") Duration expireAfterWrite) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("employee-api-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(Employee.class.getName(), region(employeeMaxSize, expireAfterWrite));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    // expiry bounds how long a row changed outside Hibernate, e.g. by hand in psql, can be served stale
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration expireAfterWrite) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        return configuration;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.helper.VirtualThreads;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Opt-in with {@code employee-api.threads.virtual=true}. Tomcat request handling, async (streaming export) work and
+ * {@code @Scheduled} jobs then run on virtual threads, so a request blocked on JDBC no longer holds one of a fixed
+ * number of platform threads. Concurrency against the database is bounded by the Hikari pool
+ * ({@code spring.datasource.hikari.maximum-pool-size}) instead of by Tomcat's thread pool.
+ * <p>
+ * Startup fails if the runtime has no virtual threads rather than silently falling back to platform threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee-api.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    public VirtualThreadConfig() {
+        if (!VirtualThreads.isSupported()) {
+            throw new IllegalStateException("employee-api.threads.virtual=true but virtual threads are not available on Java "
+                    + System.getProperty("java.version"));
+        }
+        log.info("Serving requests and scheduled jobs on virtual threads");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(VirtualThreads.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean
+    public TaskScheduler taskScheduler() {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(VirtualThreads.threadFactory("scheduling-"));
+        return new ConcurrentTaskScheduler(executor);
+    }
+}
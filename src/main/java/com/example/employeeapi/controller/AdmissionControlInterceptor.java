@@ -0,0 +1,121 @@
+package com.example.employeeapi.controller;
+
+import com.example.employeeapi.enums.AdmissionOutcome;
+import com.example.employeeapi.exception.TooManyRequestsException;
+import com.example.employeeapi.helper.StripedTokenBuckets;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the write endpoints. Each client gets a token bucket of
+ * {@code employee-api.admission.rate-per-second} with bursts up to {@code employee-api.admission.burst} and at most
+ * {@code employee-api.admission.max-in-flight-per-client} writes at once; on top of that, at most
+ * {@code employee-api.admission.max-in-flight} writes run at once across all clients, below the size of the
+ * connection pool so reads always find a connection. A request over any limit fails straight away with 429 and a
+ * {@code Retry-After} header instead of waiting for a connection.
+ * <p>
+ * Clients are told apart by the {@code employee-api.admission.client-header} header when one is configured and the
+ * request carries it, otherwise by remote address. Only configure a header that a trusted gateway sets, since
+ * callers could otherwise pick a fresh identity per request. Behind a reverse proxy or load balancer every request
+ * has the proxy's remote address, so without a header all users share one bucket; this is why the interceptor is
+ * off unless {@code employee-api.admission.enabled=true}. Decisions are counted in {@code admission.requests}
+ * by {@code outcome}.
+ */
+@Component
+@ConditionalOnProperty(name = "employee-api.admission.enabled", havingValue = "true")
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final String ADMISSION_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".admission";
+
+    private final StripedTokenBuckets buckets;
+    private final Semaphore writeSlots;
+    private final String clientHeader;
+    private final Map<AdmissionOutcome, Counter> counters = new EnumMap<>(AdmissionOutcome.class);
+
+    @Autowired
+    public AdmissionControlInterceptor(@Value("${employee-api.admission.rate-per-second:20}") double ratePerSecond,
+                                       @Value("${employee-api.admission.burst:40}") int burst,
+                                       @Value("${employee-api.admission.max-in-flight-per-client:8}") int maxInFlightPerClient,
+                                       @Value("${employee-api.admission.max-in-flight:16}") int maxInFlight,
+                                       @Value("${employee-api.admission.max-clients:10000}") int maxClients,
+                                       @Value("${employee-api.admission.stripes:64}") int stripes,
+                                       @Value("${employee-api.admission.client-header:}") String clientHeader,
+                                       MeterRegistry meterRegistry) {
+        this.buckets = new StripedTokenBuckets(stripes, maxClients, ratePerSecond, burst, maxInFlightPerClient);
+        this.writeSlots = new Semaphore(maxInFlight);
+        this.clientHeader = clientHeader;
+
+        for (AdmissionOutcome outcome : AdmissionOutcome.values()) {
+            counters.put(outcome, meterRegistry.counter("admission.requests", "outcome", outcome.name()));
+        }
+        Gauge.builder("admission.in.flight", writeSlots, slots -> maxInFlight - slots.availablePermits())
+                .description("Write requests currently admitted")
+                .register(meterRegistry);
+        Gauge.builder("admission.clients", buckets, StripedTokenBuckets::size)
+                .description("Clients with a tracked token bucket")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // an async redispatch of a request that was already admitted keeps its admission
+        if (!WRITE_METHODS.contains(request.getMethod()) || request.getAttribute(ADMISSION_ATTRIBUTE) != null) {
+            return true;
+        }
+        StripedTokenBuckets.Admission admission = buckets.tryAcquire(clientId(request));
+        if (!admission.isAdmitted()) {
+            throw reject(admission.getOutcome(), admission.getRetryAfterNanos());
+        }
+        if (!writeSlots.tryAcquire()) {
+            admission.cancel();
+            throw reject(AdmissionOutcome.CONCURRENCY_LIMITED, 0);
+        }
+        counters.get(AdmissionOutcome.ADMITTED).increment();
+        request.setAttribute(ADMISSION_ATTRIBUTE, admission);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        StripedTokenBuckets.Admission admission = (StripedTokenBuckets.Admission) request.getAttribute(ADMISSION_ATTRIBUTE);
+        if (admission != null) {
+            request.removeAttribute(ADMISSION_ATTRIBUTE);
+            admission.release();
+            writeSlots.release();
+        }
+    }
+
+    private String clientId(HttpServletRequest request) {
+        if (!clientHeader.isEmpty()) {
+            String client = request.getHeader(clientHeader);
+            if (client != null && !client.isBlank()) {
+                return client;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private TooManyRequestsException reject(AdmissionOutcome outcome, long retryAfterNanos) {
+        counters.get(outcome).increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999));
+        String message = outcome == AdmissionOutcome.RATE_LIMITED
+                ? "Too many write requests, retry in " + retryAfterSeconds + " s."
+                : "Too many write requests in progress, please retry.";
+        return new TooManyRequestsException(outcome, retryAfterSeconds, message);
+    }
+}
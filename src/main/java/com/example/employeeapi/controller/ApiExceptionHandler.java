@@ -0,0 +1,159 @@
+package com.example.employeeapi.controller;
+
+import com.example.employeeapi.enums.LeaveValidationFailure;
+import com.example.employeeapi.exception.DomainException;
+import com.example.employeeapi.exception.EmployeeNotFoundException;
+import com.example.employeeapi.exception.InvalidLeaveRequestException;
+import com.example.employeeapi.exception.LeaveRequestNotFoundException;
+import com.example.employeeapi.exception.TooManyRequestsException;
+import com.example.employeeapi.helper.LogRateLimiter;
+import com.example.employeeapi.model.ApiError;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Turns exceptions thrown by the controllers into an {@link ApiError} body with a matching status code: missing
+ * employees and leave requests are 404, leave requests that clash with existing state are 409, writes turned away by
+ * admission control are 429, other domain and input failures, including unreadable bodies and missing or
+ * mistyped parameters, are 400, and anything unexpected is 500 without its
+ * message leaking to the client.
+ * <p>
+ * Every failure is logged as one {@code key=value} line, at most {@code employee-api.errors.log-limit} per status and
+ * code in each {@code employee-api.errors.log-window}; the next line that gets through reports how many were
+ * skipped. Only 5xx failures are logged with their stack trace, since domain exceptions do not capture one.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiExceptionHandler.class);
+
+    private static final Set<LeaveValidationFailure> CONFLICTS = Set.of(LeaveValidationFailure.OVERLAP,
+            LeaveValidationFailure.ALREADY_APPROVED);
+
+    private final LogRateLimiter logRateLimiter;
+
+    @Autowired
+    public ApiExceptionHandler(@Value("${employee-api.errors.log-limit:20}") int logLimit,
+                               @Value("${employee-api.errors.log-window:PT1M}") Duration logWindow) {
+        this.logRateLimiter = new LogRateLimiter(logLimit, logWindow);
+    }
+
+    @ExceptionHandler({EmployeeNotFoundException.class, LeaveRequestNotFoundException.class})
+    public ResponseEntity<ApiError> handleNotFound(DomainException e, HttpServletRequest request) {
+        return respond(HttpStatus.NOT_FOUND, code(e), e.getMessage(), null, request, e);
+    }
+
+    @ExceptionHandler(InvalidLeaveRequestException.class)
+    public ResponseEntity<ApiError> handleInvalidLeaveRequest(InvalidLeaveRequestException e, HttpServletRequest request) {
+        HttpStatus status = CONFLICTS.contains(e.getReason()) ? HttpStatus.CONFLICT : HttpStatus.BAD_REQUEST;
+        String code = e.getReason() != null ? e.getReason().name() : code(e);
+        return respond(status, code, e.getMessage(), null, request, e);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiError> handleTooManyRequests(TooManyRequestsException e, HttpServletRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        return respond(HttpStatus.TOO_MANY_REQUESTS, e.getOutcome().name(), e.getMessage(), headers, request, e);
+    }
+
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<ApiError> handleDomain(DomainException e, HttpServletRequest request) {
+        return respond(HttpStatus.BAD_REQUEST, code(e), e.getMessage(), null, request, e);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleConcurrentModification(OptimisticLockingFailureException e, HttpServletRequest request) {
+        return respond(HttpStatus.CONFLICT, "CONCURRENT_MODIFICATION",
+                "The resource was modified concurrently, please retry.", null, request, e);
+    }
+
+    // Jackson's message names internal classes, so the client only learns that the body could not be read.
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ApiError> handleUnreadableBody(HttpMessageNotReadableException e, HttpServletRequest request) {
+        return respond(HttpStatus.BAD_REQUEST, code(e), "Request body is missing or malformed.", null, request, e);
+    }
+
+    // also covers MethodArgumentTypeMismatchException for path variables and request parameters
+    @ExceptionHandler(TypeMismatchException.class)
+    public ResponseEntity<ApiError> handleTypeMismatch(TypeMismatchException e, HttpServletRequest request) {
+        String name = e instanceof MethodArgumentTypeMismatchException mismatch ? mismatch.getName() : e.getPropertyName();
+        String type = e.getRequiredType() != null ? e.getRequiredType().getSimpleName() : "different type";
+        return respond(HttpStatus.BAD_REQUEST, code(e), "Value '" + e.getValue() + "' of '" + name
+                + "' is not a valid " + type + ".", null, request, e);
+    }
+
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<ApiError> handleMissingParameter(MissingServletRequestParameterException e,
+                                                           HttpServletRequest request) {
+        return respond(HttpStatus.BAD_REQUEST, code(e), "Required parameter '" + e.getParameterName() + "' is missing.",
+                null, request, e);
+    }
+
+    /**
+     * Framework exceptions that implement {@link ErrorResponse}, such as an unsupported method or media type, carry
+     * their own status and headers; everything else is an unexpected 500.
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ApiError> handleOther(Exception e, HttpServletRequest request) {
+        if (e instanceof ErrorResponse errorResponse) {
+            return respond(errorResponse.getStatusCode(), code(e), errorResponse.getBody().getDetail(),
+                    errorResponse.getHeaders(), request, e);
+        }
+        return respond(HttpStatus.INTERNAL_SERVER_ERROR, "INTERNAL_ERROR", "Unexpected error", null, request, e);
+    }
+
+    private ResponseEntity<ApiError> respond(HttpStatusCode status, String code, String message, HttpHeaders headers,
+                                             HttpServletRequest request, Exception e) {
+        logFailure(status, code, request, e);
+        ApiError body = ApiError.builder()
+                .timestamp(Instant.now())
+                .status(status.value())
+                .error(status instanceof HttpStatus httpStatus ? httpStatus.getReasonPhrase() : null)
+                .code(code)
+                .message(message)
+                .path(request.getRequestURI())
+                .build();
+        return ResponseEntity.status(status).headers(headers).body(body);
+    }
+
+    private void logFailure(HttpStatusCode status, String code, HttpServletRequest request, Exception e) {
+        long suppressed = logRateLimiter.tryAcquire(status.value() + ":" + code);
+        if (suppressed < 0) {
+            return;
+        }
+        if (status.is5xxServerError()) {
+            log.error("request_failed status={} code={} method={} path={} exception={} suppressed={}", status.value(),
+                    code, request.getMethod(), request.getRequestURI(), e.getClass().getName(), suppressed, e);
+        } else {
+            log.info("request_failed status={} code={} method={} path={} exception={} message=\"{}\" suppressed={}",
+                    status.value(), code, request.getMethod(), request.getRequestURI(), e.getClass().getSimpleName(),
+                    e.getMessage(), suppressed);
+        }
+    }
+
+    // EmployeeNotFoundException -> EMPLOYEE_NOT_FOUND
+    private static String code(Exception e) {
+        String name = e.getClass().getSimpleName().replaceFirst("Exception$", "");
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+    }
+}
@@ -1,13 +1,31 @@
 package com.example.employeeapi.controller;
 
 import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveLedgerEntry;
+import com.example.employeeapi.helper.AsyncTimeouts;
+import com.example.employeeapi.helper.EtagHelper;
+import com.example.employeeapi.model.CursorPage;
 import com.example.employeeapi.model.EmployeeDto;
+import com.example.employeeapi.model.EmployeeFilter;
+import com.example.employeeapi.model.EmployeeImportSummary;
+import com.example.employeeapi.model.LeaveBalanceDto;
+import com.example.employeeapi.service.EmployeeImportService;
 import com.example.employeeapi.service.EmployeeService;
+import com.example.employeeapi.service.LeaveLedgerService;
+import com.example.employeeapi.service.NdjsonExportService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -15,51 +33,86 @@ import java.util.List;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final NdjsonExportService ndjsonExportService;
+    private final EmployeeImportService employeeImportService;
+    private final LeaveLedgerService leaveLedgerService;
+    private final Duration exportTimeout;
 
     @Autowired
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, NdjsonExportService ndjsonExportService,
+                              EmployeeImportService employeeImportService, LeaveLedgerService leaveLedgerService,
+                              @Value("${employee-api.export.timeout:PT10M}") Duration exportTimeout) {
         this.employeeService = employeeService;
+        this.ndjsonExportService = ndjsonExportService;
+        this.employeeImportService = employeeImportService;
+        this.leaveLedgerService = leaveLedgerService;
+        this.exportTimeout = exportTimeout;
     }
 
     @PostMapping
     public ResponseEntity createEmployee(@RequestBody EmployeeDto employee) {
-        try{
         Employee createdEmployee = employeeService.createEmployee(employee);
         return new ResponseEntity(createdEmployee, HttpStatus.CREATED);
-        }catch (Exception e){
-            e.printStackTrace();
-            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
-        }
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity importEmployees(InputStream csv) {
+        EmployeeImportSummary summary = employeeImportService.importCsv(csv);
+        return new ResponseEntity<>(summary, HttpStatus.OK);
     }
 
     @GetMapping
-    public ResponseEntity<List<Employee>> getAllEmployees() {
-        List<Employee> employees =  employeeService.getAllEmployees();
-        return new ResponseEntity<>(employees, HttpStatus.OK);
+    public ResponseEntity getAllEmployees(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            WebRequest request) {
+        EmployeeFilter filter = EmployeeFilter.builder().hiredFrom(hiredFrom).hiredTo(hiredTo).build();
+        if (EtagHelper.isConditional(request)) {
+            String etag = employeeService.getEmployeePageEtag(filter, cursor, limit);
+            if (EtagHelper.matches(request, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        CursorPage<Employee> employees = employeeService.listEmployees(filter, cursor, limit);
+        return ResponseEntity.ok().eTag(employees.getEtag()).body(employees);
+    }
 
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(HttpServletRequest request) {
+        AsyncTimeouts.set(request, exportTimeout);
+        StreamingResponseBody body = ndjsonExportService::exportEmployees;
+        return new ResponseEntity<>(body, HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity getEmployeeById(@PathVariable Long id) {
-        try{
-        Employee employee = employeeService.getEmployeeById(id);
-        return new ResponseEntity<>(employee, HttpStatus.OK);
-        } catch (Exception e){
-            e.printStackTrace();
-            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    public ResponseEntity getEmployeeById(@PathVariable Long id, WebRequest request) {
+        if (EtagHelper.isConditional(request)) {
+            String etag = employeeService.getEmployeeEtag(id);
+            if (EtagHelper.matches(request, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
         }
+        Employee employee = employeeService.getEmployeeById(id);
+        return ResponseEntity.ok().eTag(EtagHelper.fromVersions(employee.getVersion())).body(employee);
+    }
+
+    @GetMapping("/{id}/balance")
+    public ResponseEntity getLeaveBalance(@PathVariable Long id) {
+        LeaveBalanceDto balance = leaveLedgerService.getBalance(id);
+        return new ResponseEntity<>(balance, HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/ledger")
+    public ResponseEntity<List<LeaveLedgerEntry>> getLeaveLedger(@PathVariable Long id) {
+        return new ResponseEntity<>(leaveLedgerService.getLedger(id), HttpStatus.OK);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity updateEmployee(@PathVariable Long id, @RequestBody EmployeeDto employee) {
-        try{
-
         Employee employeeUpdated = employeeService.updateEmployee(id, employee);
-            return new ResponseEntity<>(employeeUpdated, HttpStatus.OK);
-        } catch (Exception e){
-            e.printStackTrace();
-            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
-        }
+        return new ResponseEntity<>(employeeUpdated, HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
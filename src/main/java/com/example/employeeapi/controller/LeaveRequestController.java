@@ -1,14 +1,33 @@
 package com.example.employeeapi.controller;
 
 import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestReason;
 import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.helper.AsyncTimeouts;
+import com.example.employeeapi.helper.EtagHelper;
+import com.example.employeeapi.model.AbsenceDto;
+import com.example.employeeapi.model.CursorPage;
+import com.example.employeeapi.model.LeaveRequestBatchResult;
 import com.example.employeeapi.model.LeaveRequestDto;
+import com.example.employeeapi.model.LeaveRequestFilter;
+import com.example.employeeapi.model.LeaveRequestSummaryDto;
+import com.example.employeeapi.model.LeaveUsageDto;
+import com.example.employeeapi.service.AvailabilityService;
 import com.example.employeeapi.service.LeaveRequestService;
+import com.example.employeeapi.service.LeaveUsageService;
+import com.example.employeeapi.service.NdjsonExportService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -16,27 +35,97 @@ import java.util.List;
 public class LeaveRequestController {
 
     private final LeaveRequestService leaveRequestService;
+    private final NdjsonExportService ndjsonExportService;
+    private final AvailabilityService availabilityService;
+    private final LeaveUsageService leaveUsageService;
+    private final Duration exportTimeout;
 
     @Autowired
-    public LeaveRequestController(LeaveRequestService leaveRequestService) {
+    public LeaveRequestController(LeaveRequestService leaveRequestService, NdjsonExportService ndjsonExportService,
+                                  AvailabilityService availabilityService, LeaveUsageService leaveUsageService,
+                                  @Value("${employee-api.export.timeout:PT10M}") Duration exportTimeout) {
         this.leaveRequestService = leaveRequestService;
+        this.ndjsonExportService = ndjsonExportService;
+        this.availabilityService = availabilityService;
+        this.leaveUsageService = leaveUsageService;
+        this.exportTimeout = exportTimeout;
     }
 
     @PostMapping
     public ResponseEntity createLeaveRequest(@RequestBody LeaveRequestDto leaveRequestDto) {
-        try{
         LeaveRequest leaveRequest = leaveRequestService.createLeaveRequest(leaveRequestDto);
         return new ResponseEntity<>(leaveRequest, HttpStatus.CREATED);
-        }catch (Exception e){
-            e.printStackTrace();
-            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
-        }
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity createLeaveRequests(@RequestBody List<LeaveRequestDto> leaveRequestDtos) {
+        LeaveRequestBatchResult result = leaveRequestService.createLeaveRequests(leaveRequestDtos);
+        return new ResponseEntity<>(result, HttpStatus.OK);
     }
 
     @GetMapping
-    public ResponseEntity<List<LeaveRequest>> listLeaveRequests() {
-        List<LeaveRequest> leaveRequestList = leaveRequestService.list();
-        return new ResponseEntity<>(leaveRequestList, HttpStatus.OK);
+    public ResponseEntity listLeaveRequests(
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) LeaveRequestStatus status,
+            @RequestParam(required = false) LeaveRequestReason reason,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            WebRequest request) {
+        LeaveRequestFilter filter = LeaveRequestFilter.builder()
+                .employeeId(employeeId)
+                .status(status)
+                .reason(reason)
+                .from(from)
+                .to(to)
+                .build();
+        if (EtagHelper.isConditional(request)) {
+            String etag = leaveRequestService.getLeaveRequestPageEtag(filter, cursor, limit);
+            if (EtagHelper.matches(request, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        CursorPage<LeaveRequestSummaryDto> leaveRequests = leaveRequestService.list(filter, cursor, limit);
+        return ResponseEntity.ok().eTag(leaveRequests.getEtag()).body(leaveRequests);
+    }
+
+    @GetMapping("/absences")
+    public ResponseEntity listAbsences(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<AbsenceDto> absences = availabilityService.whoIsOff(from, to);
+        return new ResponseEntity<>(absences, HttpStatus.OK);
+    }
+
+    @GetMapping("/usage")
+    public ResponseEntity<List<LeaveUsageDto>> getLeaveUsage(@RequestParam int year) {
+        return new ResponseEntity<>(leaveUsageService.getUsage(year), HttpStatus.OK);
+    }
+
+    @PostMapping("/usage/rebuild")
+    public ResponseEntity<Integer> rebuildLeaveUsage() {
+        return new ResponseEntity<>(leaveUsageService.rebuild(), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportLeaveRequests(HttpServletRequest request) {
+        AsyncTimeouts.set(request, exportTimeout);
+        StreamingResponseBody body = ndjsonExportService::exportLeaveRequests;
+        return new ResponseEntity<>(body, HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity getLeaveRequest(@PathVariable Long id, WebRequest request) {
+        if (EtagHelper.isConditional(request)) {
+            String etag = leaveRequestService.getLeaveRequestEtag(id);
+            if (EtagHelper.matches(request, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        LeaveRequest leaveRequest = leaveRequestService.getLeaveRequest(id);
+        String loadedEtag = EtagHelper.fromVersions(leaveRequest.getVersion(), leaveRequest.getEmployee().getVersion());
+        return ResponseEntity.ok().eTag(loadedEtag).body(leaveRequest);
     }
 
     @PutMapping("/{id}")
@@ -47,13 +136,8 @@ public class LeaveRequestController {
 
     @PutMapping("/{id}/status")
     public ResponseEntity updateLeaveRequestStatus(@PathVariable Long id, @RequestBody LeaveRequestStatus status) {
-        try {
-            LeaveRequest updatedLeaveRequest = leaveRequestService.updateLeaveRequestStatus(id, status);
-            return new ResponseEntity<>(updatedLeaveRequest, HttpStatus.OK);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
-        }
+        LeaveRequest updatedLeaveRequest = leaveRequestService.updateLeaveRequestStatus(id, status);
+        return new ResponseEntity<>(updatedLeaveRequest, HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,36 @@
+package com.example.employeeapi.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "accrual_checkpoints")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccrualCheckpoint {
+    @Id
+    @Column(name = "job_name", nullable = false)
+    private String jobName;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(name = "last_employee_id", nullable = false)
+    private Long lastEmployeeId;
+
+    @Column(name = "processed_count", nullable = false)
+    private Long processedCount;
+
+    @Column(name = "completed", nullable = false)
+    private boolean completed;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+}
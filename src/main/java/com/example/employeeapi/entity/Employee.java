@@ -1,21 +1,31 @@
 package com.example.employeeapi.entity;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "employees")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_hire_date", columnList = "hire_date")
+})
 @Getter
 @Setter
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Employee {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -27,5 +37,10 @@ public class Employee {
     @Column(name = "remaining_leave_days", nullable = false)
     private Integer remainingLeaveDays;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
 }
 
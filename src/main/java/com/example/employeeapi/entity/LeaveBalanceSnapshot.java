@@ -0,0 +1,29 @@
+package com.example.employeeapi.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "leave_balance_snapshots")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaveBalanceSnapshot {
+    @Id
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "balance", nullable = false)
+    private int balance;
+
+    @Column(name = "employee_version", nullable = false)
+    private long employeeVersion;
+
+    @Column(name = "taken_at", nullable = false)
+    private Instant takenAt;
+
+}
@@ -0,0 +1,48 @@
+package com.example.employeeapi.entity;
+
+import com.example.employeeapi.enums.LedgerEntryType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * One change to an employee's leave balance. Entries are only ever inserted. {@code employeeVersion} is the
+ * employee row version the change produced; every balance change updates that row, so the versions order an
+ * employee's entries even when ids come from different nodes' sequence pools.
+ */
+@Entity
+@Table(name = "leave_ledger", indexes = {
+        @Index(name = "idx_leave_ledger_employee_version", columnList = "employee_id, employee_version")
+})
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaveLedgerEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leave_ledger_seq")
+    @SequenceGenerator(name = "leave_ledger_seq", sequenceName = "leave_ledger_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "employee_version", nullable = false)
+    private long employeeVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false)
+    private LedgerEntryType entryType;
+
+    @Column(name = "days", nullable = false)
+    private int days;
+
+    @Column(name = "leave_request_id")
+    private Long leaveRequestId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+}
@@ -4,11 +4,18 @@ import com.example.employeeapi.enums.LeaveRequestReason;
 import com.example.employeeapi.enums.LeaveRequestStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "leave_requests")
+@Table(name = "leave_requests", indexes = {
+        @Index(name = "idx_leave_requests_employee_id", columnList = "employee_id, id"),
+        @Index(name = "idx_leave_requests_employee_end_start", columnList = "employee_id, end_date, start_date"),
+        @Index(name = "idx_leave_requests_status", columnList = "status, id"),
+        @Index(name = "idx_leave_requests_reason", columnList = "reason, id"),
+        @Index(name = "idx_leave_requests_dates", columnList = "start_date, end_date")
+})
 @Getter
 @Setter
 @AllArgsConstructor
@@ -16,10 +23,11 @@ import java.time.LocalDate;
 @Builder
 public class LeaveRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leave_request_seq")
+    @SequenceGenerator(name = "leave_request_seq", sequenceName = "leave_request_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id", nullable = false)
     private Employee employee;
 
@@ -43,5 +51,10 @@ public class LeaveRequest {
     @Column(name = "note", nullable = true)
     private String note;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
 }
 
@@ -0,0 +1,37 @@
+package com.example.employeeapi.entity;
+
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaveUsageKey implements Serializable {
+    @Column(name = "usage_year", nullable = false)
+    private int year;
+
+    @Column(name = "usage_month", nullable = false)
+    private int month;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reason", nullable = false)
+    private LeaveRequestReason reason;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private LeaveRequestStatus status;
+
+    /**
+     * The bucket a leave request is counted in: the month it starts in, with its current reason and status.
+     */
+    public static LeaveUsageKey of(LeaveRequest leaveRequest) {
+        return new LeaveUsageKey(leaveRequest.getStartDate().getYear(), leaveRequest.getStartDate().getMonthValue(),
+                leaveRequest.getReason(), leaveRequest.getStatus());
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.employeeapi.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "leave_usage_summaries")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaveUsageSummary {
+    @EmbeddedId
+    private LeaveUsageKey id;
+
+    @Column(name = "request_count", nullable = false)
+    private long requestCount;
+
+    @Column(name = "total_days", nullable = false)
+    private long totalDays;
+
+}
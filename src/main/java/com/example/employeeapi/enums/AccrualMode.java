@@ -0,0 +1,6 @@
+package com.example.employeeapi.enums;
+
+public enum AccrualMode {
+    CHUNKED,
+    SET_BASED
+}
@@ -0,0 +1,12 @@
+package com.example.employeeapi.enums;
+
+/**
+ * What admission control decided for a write request. Used as the {@code outcome} tag of the
+ * {@code admission.requests} counter and as the error code of a 429 response.
+ */
+public enum AdmissionOutcome {
+    ADMITTED,
+    RATE_LIMITED,
+    CLIENT_CONCURRENCY_LIMITED,
+    CONCURRENCY_LIMITED
+}
@@ -0,0 +1,38 @@
+package com.example.employeeapi.enums;
+
+/**
+ * Yearly leave entitlement by completed years of service. Constants are declared in ascending {@code minYears}
+ * order; both the in-memory accrual and the set-based SQL accrual are derived from this table.
+ */
+public enum LeaveEntitlementTier {
+    NEW_HIRE(0, 5),
+    UP_TO_FIVE_YEARS(1, 15),
+    UP_TO_TEN_YEARS(6, 18),
+    OVER_TEN_YEARS(11, 24);
+
+    private final int minYears;
+    private final int days;
+
+    LeaveEntitlementTier(int minYears, int days) {
+        this.minYears = minYears;
+        this.days = days;
+    }
+
+    public int getMinYears() {
+        return minYears;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public static LeaveEntitlementTier forYearsWorked(long yearsWorked) {
+        LeaveEntitlementTier[] tiers = values();
+        for (int i = tiers.length - 1; i > 0; i--) {
+            if (yearsWorked >= tiers[i].minYears) {
+                return tiers[i];
+            }
+        }
+        return tiers[0];
+    }
+}
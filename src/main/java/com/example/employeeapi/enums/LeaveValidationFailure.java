@@ -0,0 +1,18 @@
+package com.example.employeeapi.enums;
+
+/**
+ * Why a leave request was turned down. Used as the {@code reason} tag of the
+ * {@code leave.requests.rejected} counter.
+ */
+public enum LeaveValidationFailure {
+    MISSING_DATES,
+    DATE_OUT_OF_RANGE,
+    BATCH_SIZE,
+    NEW_HIRE_LIMIT,
+    PAST_DATE,
+    INSUFFICIENT_BALANCE,
+    NO_WORKING_DAYS,
+    OVERLAP,
+    ALREADY_APPROVED,
+    MISSING_REASON
+}
@@ -0,0 +1,25 @@
+package com.example.employeeapi.enums;
+
+/**
+ * Kinds of leave ledger entries. An absolute entry sets the balance to its days, a relative one adds its days.
+ */
+public enum LedgerEntryType {
+    OPENING(true),
+    ACCRUAL(true),
+    ADJUSTMENT(true),
+    DEBIT(false);
+
+    private final boolean absolute;
+
+    LedgerEntryType(boolean absolute) {
+        this.absolute = absolute;
+    }
+
+    public boolean isAbsolute() {
+        return absolute;
+    }
+
+    public int apply(int balance, int days) {
+        return absolute ? days : balance + days;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.employeeapi.exception;
+
+/**
+ * Base class for expected business failures such as a missing employee or a rejected leave request. They are thrown
+ * on routine validation paths and reported to the client as a status code and message, so the stack trace is never
+ * read; capturing it is skipped, as is suppression bookkeeping.
+ */
+public abstract class DomainException extends RuntimeException {
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+
+    protected DomainException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.employeeapi.exception;
+
+public class EmployeeImportException extends DomainException {
+    public EmployeeImportException(String message) {
+        super(message);
+    }
+
+    public EmployeeImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
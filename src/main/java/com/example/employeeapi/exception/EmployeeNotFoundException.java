@@ -1,6 +1,6 @@
 package com.example.employeeapi.exception;
 
-public class EmployeeNotFoundException extends RuntimeException {
+public class EmployeeNotFoundException extends DomainException {
     public EmployeeNotFoundException(String message) {
         super(message);
     }
@@ -0,0 +1,7 @@
+package com.example.employeeapi.exception;
+
+public class InvalidCursorException extends DomainException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.employeeapi.exception;
 
-public class InvalidDateException extends RuntimeException {
+public class InvalidDateException extends DomainException {
     public InvalidDateException(String message) {
         super(message);
     }
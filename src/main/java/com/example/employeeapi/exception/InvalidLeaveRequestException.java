@@ -1,7 +1,20 @@
 package com.example.employeeapi.exception;
 
-public class InvalidLeaveRequestException extends RuntimeException {
+import com.example.employeeapi.enums.LeaveValidationFailure;
+
+public class InvalidLeaveRequestException extends DomainException {
+    private final LeaveValidationFailure reason;
+
     public InvalidLeaveRequestException(String message) {
+        this(null, message);
+    }
+
+    public InvalidLeaveRequestException(LeaveValidationFailure reason, String message) {
         super(message);
+        this.reason = reason;
+    }
+
+    public LeaveValidationFailure getReason() {
+        return reason;
     }
 }
@@ -1,6 +1,6 @@
 package com.example.employeeapi.exception;
 
-public class LeaveRequestNotFoundException extends RuntimeException {
+public class LeaveRequestNotFoundException extends DomainException {
     public LeaveRequestNotFoundException(String message) {
         super(message);
     }
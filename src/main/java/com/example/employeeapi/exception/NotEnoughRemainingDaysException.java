@@ -1,6 +1,6 @@
 package com.example.employeeapi.exception;
 
-public class NotEnoughRemainingDaysException extends RuntimeException {
+public class NotEnoughRemainingDaysException extends DomainException {
     public NotEnoughRemainingDaysException(String message) {
         super(message);
     }
@@ -0,0 +1,22 @@
+package com.example.employeeapi.exception;
+
+import com.example.employeeapi.enums.AdmissionOutcome;
+
+public class TooManyRequestsException extends DomainException {
+    private final AdmissionOutcome outcome;
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(AdmissionOutcome outcome, long retryAfterSeconds, String message) {
+        super(message);
+        this.outcome = outcome;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public AdmissionOutcome getOutcome() {
+        return outcome;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.employeeapi.helper;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Gives one request a different async timeout than {@code spring.mvc.async.request-timeout}, for handlers such as a
+ * {@code StreamingResponseBody} that Spring runs asynchronously without a way to pass a timeout. Call it from the
+ * handler method before returning; the timeout is applied just before the async processing starts.
+ */
+public class AsyncTimeouts {
+
+    public static void set(HttpServletRequest request, Duration timeout) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(AsyncTimeouts.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                        if (webRequest instanceof AsyncWebRequest asyncWebRequest) {
+                            asyncWebRequest.setTimeout(timeout.toMillis());
+                        }
+                    }
+                });
+    }
+}
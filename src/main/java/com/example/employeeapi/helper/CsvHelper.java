@@ -0,0 +1,51 @@
+package com.example.employeeapi.helper;
+
+import com.example.employeeapi.exception.EmployeeImportException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CsvHelper {
+
+    private CsvHelper() {
+    }
+
+    /**
+     * Splits one CSV record on commas. Fields may be wrapped in double quotes to contain commas, and a doubled quote
+     * inside a quoted field stands for one quote. Records spanning several lines are not supported.
+     */
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new EmployeeImportException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    public static String quote(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
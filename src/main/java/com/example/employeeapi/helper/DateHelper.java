@@ -1,27 +1,44 @@
 package com.example.employeeapi.helper;
 
+import com.example.employeeapi.enums.LeaveEntitlementTier;
 import com.example.employeeapi.exception.InvalidDateException;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.Period;
 import java.time.temporal.ChronoUnit;
 
 public class DateHelper {
 
+    // 1970-01-01 (epoch day 0) is a Thursday, so shifting by 3 puts Monday at index 0 of each week
+    private static final long MONDAY_OFFSET = 3;
+
     public static boolean isWeekend(LocalDate date) {
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
-        return dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+        return Math.floorMod(date.toEpochDay() + MONDAY_OFFSET, 7) >= 5;
     }
 
+    /**
+     * Leave days for a request: every weekday from {@code startDate} up to, but excluding, {@code endDate}, plus
+     * one for the end date itself.
+     */
     public static int calculateLeaveDays(LocalDate startDate, LocalDate endDate) {
-        int leaveDays = 1;
-        for (LocalDate date = startDate; date.isBefore(endDate); date = date.plusDays(1)) {
-            if (!isWeekend(date)) {
-                leaveDays++;
-            }
+        return 1 + countWeekdays(startDate, endDate);
+    }
+
+    /**
+     * Number of Monday to Friday dates in {@code [startInclusive, endExclusive)}, computed from whole weeks plus the
+     * remainder instead of visiting each day. Returns 0 for empty or reversed ranges.
+     */
+    public static int countWeekdays(LocalDate startInclusive, LocalDate endExclusive) {
+        long start = startInclusive.toEpochDay();
+        long end = endExclusive.toEpochDay();
+        if (end <= start) {
+            return 0;
         }
-        return leaveDays;
+        return (int) (weekdaysBefore(end) - weekdaysBefore(start));
+    }
+
+    private static long weekdaysBefore(long epochDay) {
+        long day = epochDay + MONDAY_OFFSET;
+        return 5 * Math.floorDiv(day, 7) + Math.min(Math.floorMod(day, 7), 5);
     }
 
     public static int calculateRemainingDaysForNewRecord(LocalDate hireDate) {
@@ -31,22 +48,10 @@ public class DateHelper {
         if (seniority < 0) {
             throw new InvalidDateException("Hire date can not be later than this year");
         }
-        if (seniority >= 1 && seniority <= 5) {
-            return 15;
-        }
-
-        if (seniority > 5 && seniority <= 10) {
-            return 18;
-        }
-
-        if (seniority > 10) {
-            return 24;
-        }
-
-        return 5;
+        return LeaveEntitlementTier.forYearsWorked(seniority).getDays();
     }
 
     public static int getDaysBetween(LocalDate startDate, LocalDate endDate){
-        return (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        return (int) (endDate.toEpochDay() - startDate.toEpochDay()) + 1;
     }
 }
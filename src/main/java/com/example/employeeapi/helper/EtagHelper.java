@@ -0,0 +1,96 @@
+package com.example.employeeapi.helper;
+
+import jakarta.persistence.Tuple;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Builds weak ETags from entity versions and checks them against {@code If-None-Match}, so a read can answer
+ * 304 from a version lookup before the entity is loaded or serialized.
+ */
+public class EtagHelper {
+
+    private static final int DIGEST_BYTES = 12;
+
+    /**
+     * ETag of a single resource whose body is determined by the given versions, e.g. {@code W/"3.7"}.
+     */
+    public static String fromVersions(long... versions) {
+        StringBuilder tag = new StringBuilder("W/\"");
+        for (int i = 0; i < versions.length; i++) {
+            tag.append(i == 0 ? "" : ".").append(versions[i]);
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * ETag of a page, digested from the numeric columns of every row in order; typically ids and versions.
+     */
+    public static String fromRows(List<Tuple> rows) {
+        return fromRows(rows, Tuple::toArray);
+    }
+
+    /**
+     * ETag of a page of loaded rows, equal to {@link #fromRows(List)} of the tuples {@code columns} selects.
+     */
+    public static <T> String fromRows(List<T> rows, Function<? super T, Object[]> columns) {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        digest.update(buffer.putLong(0, rows.size()).array());
+        for (T row : rows) {
+            for (Object column : columns.apply(row)) {
+                Number value = (Number) column;
+                digest.update(buffer.putLong(0, value == null ? -1 : value.longValue()).array());
+            }
+        }
+        byte[] hash = digest.digest();
+        return "W/\"" + HexFormat.of().formatHex(hash, 0, DIGEST_BYTES) + '"';
+    }
+
+    /**
+     * Whether the request carries an {@code If-None-Match}, i.e. whether computing the ETag up front can save work.
+     */
+    public static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+    }
+
+    /**
+     * Whether the request's {@code If-None-Match} lists {@code etag} or {@code *}, compared weakly.
+     */
+    public static boolean matches(WebRequest request, String etag) {
+        String[] headers = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (headers == null) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        for (String header : headers) {
+            for (Iterator<String> it = List.of(header.split(",")).iterator(); it.hasNext(); ) {
+                String candidate = it.next().trim();
+                if (candidate.equals("*") || stripWeak(candidate).equals(opaque)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
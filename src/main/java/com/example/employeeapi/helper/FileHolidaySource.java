@@ -0,0 +1,64 @@
+package com.example.employeeapi.helper;
+
+import com.example.employeeapi.exception.InvalidDateException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Reads holidays from a CSV resource with one {@code yyyy-MM-dd[,name]} entry per line. Blank lines and lines
+ * starting with {@code #} are ignored. A missing resource means no holidays.
+ */
+@Component
+public class FileHolidaySource implements HolidaySource {
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+
+    @Autowired
+    public FileHolidaySource(ResourceLoader resourceLoader,
+                             @Value("${employee-api.holidays.location:classpath:holidays.csv}") String location) {
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+    }
+
+    @Override
+    public Set<LocalDate> loadHolidays() {
+        Resource resource = resourceLoader.getResource(location);
+        if (!resource.exists()) {
+            return Set.of();
+        }
+        Set<LocalDate> holidays = new HashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int comma = line.indexOf(',');
+                String date = comma < 0 ? line : line.substring(0, comma).trim();
+                try {
+                    holidays.add(LocalDate.parse(date));
+                } catch (DateTimeParseException e) {
+                    throw new InvalidDateException("Invalid holiday date '" + date + "' in " + location);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return holidays;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.employeeapi.helper;
+
+import com.example.employeeapi.entity.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends each event as one JSON line with its id, type and payload to {@code employee-api.outbox.file}.
+ */
+@Component
+@ConditionalOnProperty(name = "employee-api.outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    @Autowired
+    public FileOutboxSink(ObjectMapper objectMapper,
+                          @Value("${employee-api.outbox.file:${java.io.tmpdir}/employee-api/outbox.ndjson}") Path file) {
+        this.objectMapper = objectMapper;
+        this.file = file;
+    }
+
+    @Override
+    public void send(OutboxEvent event) throws IOException {
+        ObjectNode line = objectMapper.createObjectNode();
+        line.put("id", event.getId());
+        line.put("type", event.getEventType());
+        line.set("payload", objectMapper.readTree(event.getPayload()));
+        byte[] bytes = (objectMapper.writeValueAsString(line) + "\n").getBytes(StandardCharsets.UTF_8);
+        synchronized (this) {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.employeeapi.helper;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Supplies the public holidays that are not charged against an employee's remaining leave days.
+ */
+@FunctionalInterface
+public interface HolidaySource {
+    Set<LocalDate> loadHolidays();
+}
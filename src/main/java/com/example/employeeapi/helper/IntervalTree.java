@@ -0,0 +1,161 @@
+package com.example.employeeapi.helper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Closed intervals {@code [start, end]} keyed by a unique id, answering "which intervals intersect {@code [from, to]}".
+ * <p>
+ * A treap ordered by {@code (start, id)} where each node also stores the largest end in its subtree. A query skips
+ * every subtree whose largest end is before {@code from} and everything right of the first start after {@code to},
+ * so it visits O(log n) nodes plus the ones it reports. Insert and remove are O(log n) expected. Not thread-safe.
+ */
+public class IntervalTree<T> {
+
+    private final SplittableRandom random = new SplittableRandom(0x5eed);
+    private final Map<Long, Node<T>> byId = new HashMap<>();
+    private Node<T> root;
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Adds the interval, replacing any interval previously stored under {@code id}.
+     */
+    public void put(long id, long start, long end, T value) {
+        if (end < start) {
+            throw new IllegalArgumentException("Interval end " + end + " is before start " + start);
+        }
+        remove(id);
+        Node<T> node = new Node<>(id, start, end, value, random.nextInt());
+        Node<T>[] parts = split(root, start, id);
+        root = merge(merge(parts[0], node), parts[1]);
+        byId.put(id, node);
+    }
+
+    public boolean remove(long id) {
+        Node<T> node = byId.remove(id);
+        if (node == null) {
+            return false;
+        }
+        root = remove(root, node.start, id);
+        return true;
+    }
+
+    public void clear() {
+        byId.clear();
+        root = null;
+    }
+
+    /**
+     * Values of all intervals sharing at least one point with {@code [from, to]}, in order of start.
+     */
+    public List<T> overlapping(long from, long to) {
+        List<T> result = new ArrayList<>();
+        collect(root, from, to, result);
+        return result;
+    }
+
+    private void collect(Node<T> node, long from, long to, List<T> result) {
+        while (node != null && node.maxEnd >= from) {
+            collect(node.left, from, to, result);
+            if (node.start > to) {
+                return;
+            }
+            if (node.end >= from) {
+                result.add(node.value);
+            }
+            node = node.right;
+        }
+    }
+
+    private static <T> Node<T> remove(Node<T> node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, start, id);
+        } else {
+            node.right = remove(node.right, start, id);
+        }
+        return node.update();
+    }
+
+    // parts[0] holds keys before (start, id), parts[1] the rest
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T>[] split(Node<T> node, long start, long id) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (compare(start, id, node) > 0) {
+            Node<T>[] parts = split(node.right, start, id);
+            node.right = parts[0];
+            parts[0] = node.update();
+            return parts;
+        }
+        Node<T>[] parts = split(node.left, start, id);
+        node.left = parts[1];
+        parts[1] = node.update();
+        return parts;
+    }
+
+    private static <T> Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return left.update();
+        }
+        right.left = merge(left, right.left);
+        return right.update();
+    }
+
+    private static int compare(long start, long id, Node<?> node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : Long.compare(id, node.id);
+    }
+
+    private static final class Node<T> {
+        private final long id;
+        private final long start;
+        private final long end;
+        private final T value;
+        private final int priority;
+        private long maxEnd;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(long id, long start, long end, T value, int priority) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.value = value;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        private Node<T> update() {
+            long max = end;
+            if (left != null) {
+                max = Math.max(max, left.maxEnd);
+            }
+            if (right != null) {
+                max = Math.max(max, right.maxEnd);
+            }
+            maxEnd = max;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.employeeapi.helper;
+
+import com.example.employeeapi.entity.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes each event to the application log. The default sink until a real downstream system is configured.
+ */
+@Component
+@ConditionalOnProperty(name = "employee-api.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LogOutboxSink implements OutboxSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LogOutboxSink.class);
+
+    @Override
+    public void send(OutboxEvent event) {
+        log.info("Outbox event {} {} for {}: {}", event.getId(), event.getEventType(), event.getAggregateId(), event.getPayload());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.employeeapi.helper;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lets at most {@code limit} log lines per key through in each fixed window, so a burst of identical failures costs
+ * a counter increment per request instead of a synchronous log write. Keys should come from a small, fixed set such
+ * as an error code; each key keeps its own window.
+ */
+public class LogRateLimiter {
+
+    private final int limit;
+    private final long windowNanos;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public LogRateLimiter(int limit, Duration window) {
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Returns how many events for {@code key} were suppressed since the last one let through, or -1 if this one
+     * should be suppressed as well.
+     */
+    public long tryAcquire(String key) {
+        return windows.computeIfAbsent(key, k -> new Window(System.nanoTime())).tryAcquire(System.nanoTime());
+    }
+
+    private final class Window {
+        private long start;
+        private int used;
+        private long suppressed;
+
+        private Window(long start) {
+            this.start = start;
+        }
+
+        private synchronized long tryAcquire(long now) {
+            if (now - start >= windowNanos) {
+                start = now;
+                used = 0;
+            }
+            if (used >= limit) {
+                suppressed++;
+                return -1;
+            }
+            used++;
+            long skipped = suppressed;
+            suppressed = 0;
+            return skipped;
+        }
+    }
+}
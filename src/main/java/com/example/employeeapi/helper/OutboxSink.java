@@ -0,0 +1,12 @@
+package com.example.employeeapi.helper;
+
+import com.example.employeeapi.entity.OutboxEvent;
+
+/**
+ * Delivers outbox events to a downstream system such as payroll or a calendar. Delivery is at least once, so an
+ * event can arrive again after a retry or a restart; receivers should deduplicate on the event id.
+ */
+@FunctionalInterface
+public interface OutboxSink {
+    void send(OutboxEvent event) throws Exception;
+}
@@ -0,0 +1,160 @@
+package com.example.employeeapi.helper;
+
+import com.example.employeeapi.enums.AdmissionOutcome;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One token bucket and in-flight counter per key, for rate and concurrency limiting per client.
+ * <p>
+ * Keys are spread over a fixed number of stripes, each an access-ordered map behind its own lock, so clients only
+ * contend when they hash to the same stripe. A stripe holds at most {@code maxKeys / stripes} keys; when it is full
+ * the least recently used key without requests in flight is dropped, which at worst hands that client a fresh full
+ * bucket. Buckets refill continuously at {@code ratePerSecond} up to {@code burst} tokens and each admitted request
+ * takes one.
+ */
+public class StripedTokenBuckets {
+
+    private final Stripe[] stripes;
+    private final double tokensPerNano;
+    private final double burst;
+    private final int maxInFlightPerKey;
+
+    public StripedTokenBuckets(int stripes, int maxKeys, double ratePerSecond, int burst, int maxInFlightPerKey) {
+        if (stripes < 1 || maxKeys < stripes || ratePerSecond <= 0 || burst < 1 || maxInFlightPerKey < 1) {
+            throw new IllegalArgumentException("Invalid token bucket settings");
+        }
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe(maxKeys / stripes);
+        }
+        this.tokensPerNano = ratePerSecond / 1_000_000_000.0;
+        this.burst = burst;
+        this.maxInFlightPerKey = maxInFlightPerKey;
+    }
+
+    public Admission tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    /**
+     * Takes a token and an in-flight slot for {@code key}. An admitted request must be ended with
+     * {@link Admission#release()}; a rejected one holds nothing.
+     */
+    public Admission tryAcquire(String key, long nowNanos) {
+        Stripe stripe = stripes[Math.floorMod(key.hashCode() ^ (key.hashCode() >>> 16), stripes.length)];
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(burst, nowNanos);
+                stripe.buckets.put(key, bucket);
+                stripe.evictIdle();
+            }
+            if (bucket.inFlight >= maxInFlightPerKey) {
+                return new Admission(AdmissionOutcome.CLIENT_CONCURRENCY_LIMITED, 0, null, null);
+            }
+            bucket.tokens = Math.min(burst, bucket.tokens + (nowNanos - bucket.updatedNanos) * tokensPerNano);
+            bucket.updatedNanos = nowNanos;
+            if (bucket.tokens < 1) {
+                long retryAfterNanos = (long) Math.ceil((1 - bucket.tokens) / tokensPerNano);
+                return new Admission(AdmissionOutcome.RATE_LIMITED, retryAfterNanos, null, null);
+            }
+            bucket.tokens--;
+            bucket.inFlight++;
+            return new Admission(AdmissionOutcome.ADMITTED, 0, stripe, bucket);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.buckets.size();
+            }
+        }
+        return size;
+    }
+
+    public static final class Admission {
+        private final AdmissionOutcome outcome;
+        private final long retryAfterNanos;
+        private final Stripe stripe;
+        private final Bucket bucket;
+
+        private Admission(AdmissionOutcome outcome, long retryAfterNanos, Stripe stripe, Bucket bucket) {
+            this.outcome = outcome;
+            this.retryAfterNanos = retryAfterNanos;
+            this.stripe = stripe;
+            this.bucket = bucket;
+        }
+
+        public AdmissionOutcome getOutcome() {
+            return outcome;
+        }
+
+        public boolean isAdmitted() {
+            return outcome == AdmissionOutcome.ADMITTED;
+        }
+
+        // how long until the bucket holds a whole token again; 0 unless rate limited
+        public long getRetryAfterNanos() {
+            return retryAfterNanos;
+        }
+
+        public void release() {
+            end(false);
+        }
+
+        /**
+         * Releases the slot and gives the token back, for a request that was turned away by a later check before it
+         * did any work.
+         */
+        public void cancel() {
+            end(true);
+        }
+
+        private void end(boolean refund) {
+            if (bucket == null) {
+                return;
+            }
+            synchronized (stripe) {
+                bucket.inFlight--;
+                if (refund) {
+                    bucket.tokens++;
+                }
+            }
+        }
+    }
+
+    private static final class Stripe {
+        private final Map<String, Bucket> buckets = new LinkedHashMap<>(16, 0.75f, true);
+        private final int capacity;
+
+        private Stripe(int capacity) {
+            this.capacity = capacity;
+        }
+
+        // only keys with requests in flight are skipped, so this walks at most one entry past the running requests
+        private void evictIdle() {
+            Iterator<Bucket> eldestFirst = buckets.values().iterator();
+            while (buckets.size() > capacity && eldestFirst.hasNext()) {
+                if (eldestFirst.next().inFlight == 0) {
+                    eldestFirst.remove();
+                }
+            }
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedNanos;
+        private int inFlight;
+
+        private Bucket(double tokens, long updatedNanos) {
+            this.tokens = tokens;
+            this.updatedNanos = updatedNanos;
+        }
+    }
+}
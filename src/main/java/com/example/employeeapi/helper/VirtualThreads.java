@@ -0,0 +1,54 @@
+package com.example.employeeapi.helper;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual threads are final from Java 21 while the project still compiles for 17, so they are reached through
+ * reflection. On older runtimes {@link #isSupported()} is false and the factory methods throw.
+ */
+public class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            // on 19 and 20 the method exists but throws unless --enable-preview is set
+            ofVirtual.invoke(null);
+            return true;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw unsupported(e);
+        }
+    }
+
+    /**
+     * Equivalent to {@code Thread.ofVirtual().name(prefix, 0).factory()}.
+     */
+    public static ThreadFactory threadFactory(String prefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw unsupported(e);
+        }
+    }
+
+    private static IllegalStateException unsupported(Exception cause) {
+        return new IllegalStateException("Virtual threads need Java 21 or later, running on "
+                + System.getProperty("java.version"), cause);
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.employeeapi.helper;
+
+import com.example.employeeapi.exception.InvalidDateException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.BitSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Answers "how many working days are between A and B" where working days are weekdays that are not holidays.
+ * <p>
+ * Each year is compiled once into a bitset of working days and a prefix-sum array over it, so a range inside one
+ * year costs two array lookups and a range over several years adds one lookup per year boundary. Years are compiled
+ * on first use. {@link #reload()} swaps in a freshly compiled calendar without blocking readers.
+ * <p>
+ * Only the years from {@code employee-api.holidays.years-back} before the current year to
+ * {@code employee-api.holidays.years-ahead} after it are supported, which also bounds how many years are ever
+ * compiled. Dates outside that window are rejected with {@link InvalidDateException}; callers that validate user
+ * input check {@link #supports} first.
+ */
+@Component
+public class WorkingDayCalendar {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkingDayCalendar.class);
+
+    static final int DEFAULT_YEARS_BACK = 50;
+    static final int DEFAULT_YEARS_AHEAD = 10;
+
+    private final HolidaySource holidaySource;
+    private final int yearsBack;
+    private final int yearsAhead;
+    private volatile CompiledCalendar compiled;
+
+    public WorkingDayCalendar(HolidaySource holidaySource) {
+        this(holidaySource, DEFAULT_YEARS_BACK, DEFAULT_YEARS_AHEAD);
+    }
+
+    @Autowired
+    public WorkingDayCalendar(HolidaySource holidaySource,
+                              @Value("${employee-api.holidays.years-back:" + DEFAULT_YEARS_BACK + "}") int yearsBack,
+                              @Value("${employee-api.holidays.years-ahead:" + DEFAULT_YEARS_AHEAD + "}") int yearsAhead) {
+        this.holidaySource = holidaySource;
+        this.yearsBack = yearsBack;
+        this.yearsAhead = yearsAhead;
+        this.compiled = compile(holidaySource.loadHolidays());
+    }
+
+    @Scheduled(fixedDelayString = "${employee-api.holidays.reload-interval-ms:300000}",
+            initialDelayString = "${employee-api.holidays.reload-interval-ms:300000}")
+    public void reload() {
+        try {
+            compiled = compile(holidaySource.loadHolidays());
+        } catch (RuntimeException e) {
+            log.warn("Could not reload holiday calendar, keeping the previous one: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Whether every date in {@code [startDate, endDate]} lies in the supported window.
+     */
+    public boolean supports(LocalDate startDate, LocalDate endDate) {
+        CompiledCalendar calendar = compiled;
+        return calendar.contains(startDate.getYear()) && calendar.contains(endDate.getYear());
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        return compiled.year(date.getYear()).workingDays.get(date.getDayOfYear() - 1);
+    }
+
+    /**
+     * Working days in {@code [startDate, endDate]}, both ends included. Returns 0 if {@code endDate} is before
+     * {@code startDate}.
+     */
+    public int countWorkingDays(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return 0;
+        }
+        CompiledCalendar calendar = compiled;
+        if (!calendar.contains(startDate.getYear()) || !calendar.contains(endDate.getYear())) {
+            throw calendar.outOfRange();
+        }
+        YearTable first = calendar.year(startDate.getYear());
+        if (startDate.getYear() == endDate.getYear()) {
+            return first.prefix[endDate.getDayOfYear()] - first.prefix[startDate.getDayOfYear() - 1];
+        }
+        int count = first.total() - first.prefix[startDate.getDayOfYear() - 1];
+        for (int year = startDate.getYear() + 1; year < endDate.getYear(); year++) {
+            count += calendar.year(year).total();
+        }
+        return count + calendar.year(endDate.getYear()).prefix[endDate.getDayOfYear()];
+    }
+
+    private CompiledCalendar compile(Set<LocalDate> holidays) {
+        int currentYear = Year.now().getValue();
+        return new CompiledCalendar(holidays, currentYear - yearsBack, yearsBack + yearsAhead + 1);
+    }
+
+    private static final class CompiledCalendar {
+        private final Set<LocalDate> holidays;
+        private final int firstYear;
+        // one slot per supported year, filled on first use; racing threads compile the same table
+        private final AtomicReferenceArray<YearTable> years;
+
+        private CompiledCalendar(Set<LocalDate> holidays, int firstYear, int yearCount) {
+            this.holidays = Set.copyOf(holidays);
+            this.firstYear = firstYear;
+            this.years = new AtomicReferenceArray<>(yearCount);
+        }
+
+        private boolean contains(int year) {
+            return year >= firstYear && year <= lastYear();
+        }
+
+        private int lastYear() {
+            return firstYear + years.length() - 1;
+        }
+
+        private InvalidDateException outOfRange() {
+            return new InvalidDateException("Dates must be between " + firstYear + " and " + lastYear() + ".");
+        }
+
+        private YearTable year(int year) {
+            if (!contains(year)) {
+                throw outOfRange();
+            }
+            YearTable table = years.get(year - firstYear);
+            if (table == null) {
+                table = compile(year);
+                years.set(year - firstYear, table);
+            }
+            return table;
+        }
+
+        private YearTable compile(int year) {
+            int length = Year.of(year).length();
+            BitSet workingDays = new BitSet(length);
+            int[] prefix = new int[length + 1];
+            LocalDate date = LocalDate.ofYearDay(year, 1);
+            for (int day = 0; day < length; day++, date = date.plusDays(1)) {
+                boolean working = !DateHelper.isWeekend(date) && !holidays.contains(date);
+                workingDays.set(day, working);
+                prefix[day + 1] = prefix[day] + (working ? 1 : 0);
+            }
+            return new YearTable(workingDays, prefix);
+        }
+    }
+
+    // prefix[n] is the number of working days among the first n days of the year
+    private static final class YearTable {
+        private final BitSet workingDays;
+        private final int[] prefix;
+
+        private YearTable(BitSet workingDays, int[] prefix) {
+            this.workingDays = workingDays;
+            this.prefix = prefix;
+        }
+
+        private int total() {
+            return prefix[prefix.length - 1];
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.employeeapi.mapper;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.model.EmployeeDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface EmployeeMapper {
+
+    EmployeeDto toDto(Employee employee);
+
+    List<EmployeeDto> toDtoList(List<Employee> employees);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Employee toEntity(EmployeeDto employeeDto);
+
+    List<Employee> toEntityList(List<EmployeeDto> employeeDtos);
+}
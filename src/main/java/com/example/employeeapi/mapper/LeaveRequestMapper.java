@@ -0,0 +1,26 @@
+package com.example.employeeapi.mapper;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.model.LeaveRequestDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface LeaveRequestMapper {
+
+    /**
+     * Builds a new leave request for {@code employee}, which the caller has already resolved from
+     * {@link LeaveRequestDto#getEmployeeId()}. Status and note are left for the caller to set.
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "employee", source = "employee")
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "note", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    LeaveRequest toEntity(LeaveRequestDto leaveRequestDto, Employee employee);
+
+    @Mapping(target = "employeeId", source = "employee.id")
+    LeaveRequestDto toDto(LeaveRequest leaveRequest);
+}
@@ -0,0 +1,18 @@
+package com.example.employeeapi.model;
+
+import com.example.employeeapi.enums.LeaveRequestReason;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AbsenceDto {
+    private Long leaveRequestId;
+    private Long employeeId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LeaveRequestReason reason;
+}
@@ -0,0 +1,18 @@
+package com.example.employeeapi.model;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccrualRunSummary {
+    private LocalDate runDate;
+    private Long resumedFromEmployeeId;
+    private long processedEmployees;
+    private long chunks;
+    private long durationMillis;
+    private double rowsPerSecond;
+}
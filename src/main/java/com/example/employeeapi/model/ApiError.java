@@ -0,0 +1,19 @@
+package com.example.employeeapi.model;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ApiError {
+    private Instant timestamp;
+    private int status;
+    private String error;
+    private String code;
+    private String message;
+    private String path;
+}
@@ -0,0 +1,25 @@
+package com.example.employeeapi.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import java.util.List;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+
+    /**
+     * ETag of the page, digested from the rows that were loaded for it; not part of the body.
+     */
+    @JsonIgnore
+    private String etag;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this(items, nextCursor, null);
+    }
+}
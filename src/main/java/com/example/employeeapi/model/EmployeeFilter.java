@@ -0,0 +1,15 @@
+package com.example.employeeapi.model;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeFilter {
+    private LocalDate hiredFrom;
+    private LocalDate hiredTo;
+}
@@ -0,0 +1,16 @@
+package com.example.employeeapi.model;
+
+import lombok.*;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeImportSummary {
+    private long importedEmployees;
+    private long rejectedRows;
+    private long batches;
+    private long durationMillis;
+    private double rowsPerSecond;
+    private String rejectFile;
+}
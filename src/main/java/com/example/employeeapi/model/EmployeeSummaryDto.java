@@ -0,0 +1,16 @@
+package com.example.employeeapi.model;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeSummaryDto {
+    private Long id;
+    private String name;
+    private LocalDate hireDate;
+    private Integer remainingLeaveDays;
+}
@@ -0,0 +1,14 @@
+package com.example.employeeapi.model;
+
+import lombok.*;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaveBalanceDto {
+    private Long employeeId;
+    private Integer remainingLeaveDays;
+    private Long snapshotVersion;
+    private Integer tailEntries;
+}
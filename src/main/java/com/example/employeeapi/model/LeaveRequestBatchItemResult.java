@@ -0,0 +1,15 @@
+package com.example.employeeapi.model;
+
+import lombok.*;
+
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaveRequestBatchItemResult {
+    private int index;
+    private boolean success;
+    private Long leaveRequestId;
+    private String error;
+}
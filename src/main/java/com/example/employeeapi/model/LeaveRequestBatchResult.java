@@ -0,0 +1,15 @@
+package com.example.employeeapi.model;
+
+import lombok.*;
+
+import java.util.List;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaveRequestBatchResult {
+    private int succeeded;
+    private int failed;
+    private List<LeaveRequestBatchItemResult> items;
+}
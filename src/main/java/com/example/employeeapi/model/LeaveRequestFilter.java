@@ -0,0 +1,20 @@
+package com.example.employeeapi.model;
+
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaveRequestFilter {
+    private Long employeeId;
+    private LeaveRequestStatus status;
+    private LeaveRequestReason reason;
+    private LocalDate from;
+    private LocalDate to;
+}
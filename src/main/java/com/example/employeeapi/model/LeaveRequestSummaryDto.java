@@ -0,0 +1,38 @@
+package com.example.employeeapi.model;
+
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaveRequestSummaryDto {
+    private Long id;
+    private Long employeeId;
+    private String employeeName;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer totalLeaveDays;
+    private LeaveRequestStatus status;
+    private LeaveRequestReason reason;
+    private String note;
+
+    /**
+     * Versions of the leave request and its employee, for the page ETag; not part of the body.
+     */
+    @JsonIgnore
+    private Long version;
+    @JsonIgnore
+    private Long employeeVersion;
+
+    public LeaveRequestSummaryDto(Long id, Long employeeId, String employeeName, LocalDate startDate, LocalDate endDate,
+                                  Integer totalLeaveDays, LeaveRequestStatus status, LeaveRequestReason reason,
+                                  String note) {
+        this(id, employeeId, employeeName, startDate, endDate, totalLeaveDays, status, reason, note, null, null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.employeeapi.model;
+
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaveStatusChangedEvent {
+    public static final String TYPE = "LEAVE_REQUEST_STATUS_CHANGED";
+
+    private Long leaveRequestId;
+    private Long employeeId;
+    private LeaveRequestStatus previousStatus;
+    private LeaveRequestStatus status;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer totalLeaveDays;
+    private Instant occurredAt;
+}
@@ -0,0 +1,18 @@
+package com.example.employeeapi.model;
+
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import lombok.*;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaveUsageDto {
+    private int year;
+    private int month;
+    private LeaveRequestReason reason;
+    private LeaveRequestStatus status;
+    private long requestCount;
+    private long totalDays;
+}
@@ -0,0 +1,9 @@
+package com.example.employeeapi.repository;
+
+import com.example.employeeapi.entity.AccrualCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccrualCheckpointRepository extends JpaRepository<AccrualCheckpoint, String> {
+}
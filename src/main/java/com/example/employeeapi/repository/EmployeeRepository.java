@@ -1,9 +1,31 @@
 package com.example.employeeapi.repository;
 
 import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.model.EmployeeSummaryDto;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
-}
\ No newline at end of file
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
+    int EXPORT_FETCH_SIZE = 1000;
+
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("select new com.example.employeeapi.model.EmployeeSummaryDto(e.id, e.name, e.hireDate, e.remainingLeaveDays) "
+            + "from Employee e order by e.id")
+    Stream<EmployeeSummaryDto> streamAllForExport();
+}
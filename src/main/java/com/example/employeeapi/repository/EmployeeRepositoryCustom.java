@@ -0,0 +1,15 @@
+package com.example.employeeapi.repository;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.model.EmployeeFilter;
+import jakarta.persistence.Tuple;
+
+import java.util.List;
+
+public interface EmployeeRepositoryCustom {
+    List<Employee> findPage(EmployeeFilter filter, Long afterId, int limit);
+
+    List<Tuple> findPageVersions(EmployeeFilter filter, Long afterId, int limit);
+
+    int debitRemainingLeaveDays(Long id, int days);
+}
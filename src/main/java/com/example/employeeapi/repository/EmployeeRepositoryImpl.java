@@ -0,0 +1,109 @@
+package com.example.employeeapi.repository;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.model.EmployeeFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+
+    // Names no mapped table, so Hibernate leaves the Employee cache region alone and only the debited row is evicted.
+    private static final String BALANCE_QUERY_SPACE = "employees_balance";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Employee> findPage(EmployeeFilter filter, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Employee> query = cb.createQuery(Employee.class);
+        Root<Employee> employee = query.from(Employee.class);
+
+        query.select(employee)
+                .where(pagePredicates(cb, employee, filter, afterId))
+                .orderBy(cb.asc(employee.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Tuple> findPageVersions(EmployeeFilter filter, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> employee = query.from(Employee.class);
+
+        query.multiselect(employee.get("id"), employee.get("version"))
+                .where(pagePredicates(cb, employee, filter, afterId))
+                .orderBy(cb.asc(employee.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Takes {@code days} off the balance only if at least that many are left, in a single statement, and bumps the
+     * version so entity-based writers holding the old balance fail instead of overwriting it. Pending changes are
+     * flushed first and the persistence context is cleared afterwards, so no stale copy of the employee survives.
+     * <p>
+     * A JPQL bulk update would evict the whole {@link Employee} second-level cache region on every approval. This
+     * native statement declares a query space of its own instead, and only the debited employee is evicted, now and
+     * again when the transaction completes so a copy loaded by another transaction in between does not outlive it.
+     *
+     * @return 1 if the days were debited, 0 if the balance was too low or the employee does not exist
+     */
+    @Override
+    public int debitRemainingLeaveDays(Long id, int days) {
+        entityManager.flush();
+        int updated = entityManager.createNativeQuery("update employees set remaining_leave_days = remaining_leave_days - :days, "
+                        + "version = version + 1 where id = :id and remaining_leave_days >= :days")
+                .setParameter("id", id)
+                .setParameter("days", days)
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, BALANCE_QUERY_SPACE)
+                .executeUpdate();
+        entityManager.clear();
+        if (updated > 0) {
+            evictEmployee(id);
+        }
+        return updated;
+    }
+
+    private void evictEmployee(Long id) {
+        Cache cache = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Employee.class, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evictEntityData(Employee.class, id);
+                }
+            });
+        }
+    }
+
+    private static Predicate[] pagePredicates(CriteriaBuilder cb, Root<Employee> employee, EmployeeFilter filter, Long afterId) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.greaterThan(employee.get("id"), afterId));
+        if (Objects.nonNull(filter.getHiredFrom())) {
+            predicates.add(cb.greaterThanOrEqualTo(employee.get("hireDate"), filter.getHiredFrom()));
+        }
+        if (Objects.nonNull(filter.getHiredTo())) {
+            predicates.add(cb.lessThanOrEqualTo(employee.get("hireDate"), filter.getHiredTo()));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+}
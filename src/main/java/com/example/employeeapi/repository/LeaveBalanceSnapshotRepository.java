@@ -0,0 +1,16 @@
+package com.example.employeeapi.repository;
+
+import com.example.employeeapi.entity.LeaveBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LeaveBalanceSnapshotRepository extends JpaRepository<LeaveBalanceSnapshot, Long> {
+
+    @Modifying
+    @Query("delete from LeaveBalanceSnapshot s where s.employeeId = :employeeId")
+    int deleteByEmployeeId(@Param("employeeId") Long employeeId);
+}
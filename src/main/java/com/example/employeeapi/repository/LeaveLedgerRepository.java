@@ -0,0 +1,48 @@
+package com.example.employeeapi.repository;
+
+import com.example.employeeapi.entity.LeaveLedgerEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LeaveLedgerRepository extends JpaRepository<LeaveLedgerEntry, Long> {
+
+    List<LeaveLedgerEntry> findByEmployeeIdOrderByEmployeeVersionAsc(Long employeeId);
+
+    List<LeaveLedgerEntry> findByEmployeeIdAndEmployeeVersionGreaterThanOrderByEmployeeVersionAsc(Long employeeId, long employeeVersion);
+
+    /**
+     * Entries of the given employees that are not yet covered by their snapshot, in ledger order.
+     */
+    @Query("select l from LeaveLedgerEntry l where l.employeeId in :employeeIds and l.employeeVersion > "
+            + "coalesce((select s.employeeVersion from LeaveBalanceSnapshot s where s.employeeId = l.employeeId), -1) "
+            + "order by l.employeeId, l.employeeVersion")
+    List<LeaveLedgerEntry> findTails(@Param("employeeIds") Collection<Long> employeeIds);
+
+    @Query("select distinct l.employeeId from LeaveLedgerEntry l where l.employeeId > :afterEmployeeId and l.employeeVersion > "
+            + "coalesce((select s.employeeVersion from LeaveBalanceSnapshot s where s.employeeId = l.employeeId), -1) "
+            + "order by l.employeeId")
+    List<Long> findEmployeeIdsWithTail(@Param("afterEmployeeId") Long afterEmployeeId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from LeaveLedgerEntry l where l.employeeId = :employeeId")
+    int deleteByEmployeeId(@Param("employeeId") Long employeeId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "leave_ledger"))
+    @Query(value = "insert into leave_ledger (id, employee_id, employee_version, entry_type, days, created_at) "
+            + "select nextval('leave_ledger_seq'), e.id, e.version, 'OPENING', e.remaining_leave_days, :createdAt "
+            + "from employees e where not exists (select 1 from leave_ledger l where l.employee_id = e.id)", nativeQuery = true)
+    int appendMissingOpeningBalances(@Param("createdAt") Instant createdAt);
+}
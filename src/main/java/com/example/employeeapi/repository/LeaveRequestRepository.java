@@ -1,12 +1,83 @@
 package com.example.employeeapi.repository;
 
 import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.model.AbsenceDto;
+import com.example.employeeapi.model.LeaveRequestSummaryDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
+public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long>, LeaveRequestRepositoryCustom {
+    int EXPORT_FETCH_SIZE = 1000;
+    List<LeaveRequestStatus> ACTIVE_STATUSES = List.of(LeaveRequestStatus.WAITING_FOR_APPROVAL, LeaveRequestStatus.APPROVED);
+
     List<LeaveRequest> findByEmployeeId(Long id);
+
+    boolean existsByEmployeeIdAndStatusInAndEndDateGreaterThanEqualAndStartDateLessThanEqualAndIdNot(
+            Long employeeId, Collection<LeaveRequestStatus> statuses, LocalDate startDate, LocalDate endDate, Long excludedId);
+
+    List<LeaveRequest> findByEmployeeIdInAndStatusInAndEndDateGreaterThanEqual(
+            Collection<Long> employeeIds, Collection<LeaveRequestStatus> statuses, LocalDate endDate);
+
+    /**
+     * Whether the employee has a waiting or approved request sharing at least one day with {@code [startDate,
+     * endDate]}, other than {@code excludedId}. The {@code end_date >= startDate} bound is the leading range on the
+     * (employee_id, end_date, start_date) index, so only requests ending after the new one starts are read, not the
+     * employee's whole history.
+     */
+    default boolean existsOverlapping(Long employeeId, LocalDate startDate, LocalDate endDate, Long excludedId) {
+        return existsByEmployeeIdAndStatusInAndEndDateGreaterThanEqualAndStartDateLessThanEqualAndIdNot(
+                employeeId, ACTIVE_STATUSES, startDate, endDate, Objects.isNull(excludedId) ? 0L : excludedId);
+    }
+
+    /**
+     * Waiting or approved requests of {@code employeeIds} that end on or after {@code date}.
+     */
+    default List<LeaveRequest> findActiveEndingOnOrAfter(Collection<Long> employeeIds, LocalDate date) {
+        return findByEmployeeIdInAndStatusInAndEndDateGreaterThanEqual(employeeIds, ACTIVE_STATUSES, date);
+    }
+
+    @Override
+    @EntityGraph(attributePaths = "employee")
+    Optional<LeaveRequest> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "employee")
+    List<LeaveRequest> findAll();
+
+    /**
+     * The versions a serialized leave request depends on: its own and that of the embedded employee.
+     */
+    @Query("select l.version as version, e.version as employeeVersion from LeaveRequest l join l.employee e where l.id = :id")
+    Optional<Versions> findVersionsById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("select new com.example.employeeapi.model.AbsenceDto(l.id, l.employee.id, l.startDate, l.endDate, l.reason) "
+            + "from LeaveRequest l where l.status = :status")
+    List<AbsenceDto> findAbsencesByStatus(@Param("status") LeaveRequestStatus status);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("select new com.example.employeeapi.model.LeaveRequestSummaryDto(l.id, e.id, e.name, l.startDate, l.endDate, "
+            + "l.totalLeaveDays, l.status, l.reason, l.note) from LeaveRequest l join l.employee e order by l.id")
+    Stream<LeaveRequestSummaryDto> streamAllForExport();
+
+    interface Versions {
+        long getVersion();
+
+        long getEmployeeVersion();
+    }
 }
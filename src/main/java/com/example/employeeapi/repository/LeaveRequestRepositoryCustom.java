@@ -0,0 +1,13 @@
+package com.example.employeeapi.repository;
+
+import com.example.employeeapi.model.LeaveRequestFilter;
+import com.example.employeeapi.model.LeaveRequestSummaryDto;
+import jakarta.persistence.Tuple;
+
+import java.util.List;
+
+public interface LeaveRequestRepositoryCustom {
+    List<LeaveRequestSummaryDto> findPage(LeaveRequestFilter filter, Long afterId, int limit);
+
+    List<Tuple> findPageVersions(LeaveRequestFilter filter, Long afterId, int limit);
+}
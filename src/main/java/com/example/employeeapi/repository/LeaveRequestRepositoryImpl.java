@@ -0,0 +1,91 @@
+package com.example.employeeapi.repository;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.model.LeaveRequestFilter;
+import com.example.employeeapi.model.LeaveRequestSummaryDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class LeaveRequestRepositoryImpl implements LeaveRequestRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * The page is always ordered by id with {@code id > afterId}. Without a filter, or with an employee, status or
+     * reason filter, an index ending in id serves that order, so each page is an index range scan no matter how deep
+     * the client has paged. A date range is not: it is looked up through the {@code (start_date, end_date)} index and
+     * its matches are sorted by id, so the cost of a page grows with the number of leave requests in the range.
+     * The employee is joined into the same statement and only its id, name and version are selected.
+     */
+    @Override
+    public List<LeaveRequestSummaryDto> findPage(LeaveRequestFilter filter, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LeaveRequestSummaryDto> query = cb.createQuery(LeaveRequestSummaryDto.class);
+        Root<LeaveRequest> leaveRequest = query.from(LeaveRequest.class);
+        Join<LeaveRequest, Employee> employee = leaveRequest.join("employee");
+
+        query.select(cb.construct(LeaveRequestSummaryDto.class,
+                        leaveRequest.get("id"), employee.get("id"), employee.get("name"),
+                        leaveRequest.get("startDate"), leaveRequest.get("endDate"), leaveRequest.get("totalLeaveDays"),
+                        leaveRequest.get("status"), leaveRequest.get("reason"), leaveRequest.get("note"),
+                        leaveRequest.get("version"), employee.get("version")))
+                .where(pagePredicates(cb, leaveRequest, filter, afterId))
+                .orderBy(cb.asc(leaveRequest.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * The same page as {@link #findPage}, reduced to the id and version of each leave request and the version of
+     * its employee, whose name is part of the summary.
+     */
+    @Override
+    public List<Tuple> findPageVersions(LeaveRequestFilter filter, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<LeaveRequest> leaveRequest = query.from(LeaveRequest.class);
+        Join<LeaveRequest, Employee> employee = leaveRequest.join("employee");
+
+        query.multiselect(leaveRequest.get("id"), leaveRequest.get("version"), employee.get("version"))
+                .where(pagePredicates(cb, leaveRequest, filter, afterId))
+                .orderBy(cb.asc(leaveRequest.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static Predicate[] pagePredicates(CriteriaBuilder cb, Root<LeaveRequest> leaveRequest, LeaveRequestFilter filter,
+                                              Long afterId) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.greaterThan(leaveRequest.get("id"), afterId));
+        if (Objects.nonNull(filter.getEmployeeId())) {
+            predicates.add(cb.equal(leaveRequest.get("employee").get("id"), filter.getEmployeeId()));
+        }
+        if (Objects.nonNull(filter.getStatus())) {
+            predicates.add(cb.equal(leaveRequest.get("status"), filter.getStatus()));
+        }
+        if (Objects.nonNull(filter.getReason())) {
+            predicates.add(cb.equal(leaveRequest.get("reason"), filter.getReason()));
+        }
+        if (Objects.nonNull(filter.getFrom())) {
+            predicates.add(cb.greaterThanOrEqualTo(leaveRequest.get("endDate"), filter.getFrom()));
+        }
+        if (Objects.nonNull(filter.getTo())) {
+            predicates.add(cb.lessThanOrEqualTo(leaveRequest.get("startDate"), filter.getTo()));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+}
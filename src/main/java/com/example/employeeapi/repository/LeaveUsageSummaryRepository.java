@@ -0,0 +1,49 @@
+package com.example.employeeapi.repository;
+
+import com.example.employeeapi.entity.LeaveUsageKey;
+import com.example.employeeapi.entity.LeaveUsageSummary;
+import com.example.employeeapi.model.LeaveUsageDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LeaveUsageSummaryRepository extends JpaRepository<LeaveUsageSummary, LeaveUsageKey> {
+
+    @Query("select new com.example.employeeapi.model.LeaveUsageDto(s.id.year, s.id.month, s.id.reason, s.id.status, "
+            + "s.requestCount, s.totalDays) from LeaveUsageSummary s where s.id.year = :year and s.requestCount > 0 "
+            + "order by s.id.month, s.id.reason, s.id.status")
+    List<LeaveUsageDto> findUsageByYear(@Param("year") int year);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "leave_usage_summaries"))
+    @Query(value = "update leave_usage_summaries set request_count = request_count + :count, total_days = total_days + :days "
+            + "where usage_year = :year and usage_month = :month and reason = :reason and status = :status", nativeQuery = true)
+    int addUsage(@Param("year") int year, @Param("month") int month, @Param("reason") String reason,
+                 @Param("status") String status, @Param("count") long count, @Param("days") long days);
+
+    /**
+     * Creates an empty row for the bucket unless one exists, including one a concurrent transaction just inserted.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "leave_usage_summaries"))
+    @Query(value = "insert into leave_usage_summaries (usage_year, usage_month, reason, status, request_count, total_days) "
+            + "values (:year, :month, :reason, :status, 0, 0) on conflict do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("year") int year, @Param("month") int month, @Param("reason") String reason,
+                       @Param("status") String status);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "leave_usage_summaries"))
+    @Query(value = "insert into leave_usage_summaries (usage_year, usage_month, reason, status, request_count, total_days) "
+            + "select extract(year from start_date), extract(month from start_date), reason, status, count(*), "
+            + "sum(total_leave_days) from leave_requests "
+            + "group by extract(year from start_date), extract(month from start_date), reason, status", nativeQuery = true)
+    int insertFromLeaveRequests();
+}
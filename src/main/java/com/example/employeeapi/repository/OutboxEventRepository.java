@@ -0,0 +1,53 @@
+package com.example.employeeapi.repository;
+
+import com.example.employeeapi.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Undelivered events that are due, skipping those queued behind an earlier undelivered event of the same
+     * aggregate that is still waiting for its retry or has run out of attempts.
+     */
+    @Query("select e from OutboxEvent e where e.dispatchedAt is null and e.attempts < :maxAttempts "
+            + "and e.nextAttemptAt <= :now and not exists (select p.id from OutboxEvent p where p.aggregateId = e.aggregateId "
+            + "and p.dispatchedAt is null and p.id < e.id and (p.nextAttemptAt > :now or p.attempts >= :maxAttempts)) "
+            + "order by e.id")
+    List<OutboxEvent> findDue(@Param("maxAttempts") int maxAttempts, @Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.dispatchedAt = :dispatchedAt where e.id in :ids")
+    int markDispatched(@Param("ids") Collection<Long> ids, @Param("dispatchedAt") Instant dispatchedAt);
+
+    /**
+     * Marks undelivered events that have used up their attempts as dead, including events left over from before
+     * {@code maxAttempts} was lowered.
+     */
+    @Modifying
+    @Query("update OutboxEvent e set e.deadAt = :now where e.dispatchedAt is null and e.deadAt is null "
+            + "and e.attempts >= :maxAttempts")
+    int markExhaustedDead(@Param("maxAttempts") int maxAttempts, @Param("now") Instant now);
+
+    @Query("select e.id from OutboxEvent e where e.dispatchedAt < :cutoff order by e.id")
+    List<Long> findDispatchedBefore(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    long countByDispatchedAtIsNull();
+
+    long countByDispatchedAtIsNullAndDeadAtIsNull();
+
+    long countByDeadAtIsNotNull();
+
+    @Query("select min(e.createdAt) from OutboxEvent e where e.dispatchedAt is null and e.deadAt is null")
+    Optional<Instant> findOldestPendingCreatedAt();
+}
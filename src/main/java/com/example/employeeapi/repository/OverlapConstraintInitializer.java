@@ -0,0 +1,63 @@
+package com.example.employeeapi.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * On PostgreSQL, adds an exclusion constraint so two waiting or approved requests of one employee can never share a
+ * day, even when two transactions insert them at the same time and both pass the service-level overlap check.
+ * Other databases rely on that check alone. A failure (no permission to create {@code btree_gist}, or overlapping
+ * rows already present) is logged and the application keeps running without the constraint.
+ */
+@Component
+public class OverlapConstraintInitializer {
+
+    public static final String CONSTRAINT_NAME = "leave_requests_no_overlap";
+
+    private static final Logger log = LoggerFactory.getLogger(OverlapConstraintInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    @Autowired
+    public OverlapConstraintInitializer(JdbcTemplate jdbcTemplate,
+                                        @Value("${employee-api.leave-requests.overlap-constraint:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createConstraint() {
+        if (!enabled) {
+            return;
+        }
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            return;
+        }
+        try {
+            Integer existing = jdbcTemplate.queryForObject(
+                    "select count(*) from pg_constraint where conname = ?", Integer.class, CONSTRAINT_NAME);
+            if (existing != null && existing > 0) {
+                return;
+            }
+            jdbcTemplate.execute("create extension if not exists btree_gist");
+            jdbcTemplate.execute("alter table leave_requests add constraint " + CONSTRAINT_NAME
+                    + " exclude using gist (employee_id with =, daterange(start_date, end_date, '[]') with &&)"
+                    + " where (status in ('WAITING_FOR_APPROVAL', 'APPROVED'))");
+            log.info("Created exclusion constraint {}", CONSTRAINT_NAME);
+        } catch (DataAccessException e) {
+            log.warn("Could not create exclusion constraint {}, overlaps are only checked by the service: {}",
+                    CONSTRAINT_NAME, e.getMostSpecificCause().getMessage());
+        }
+    }
+}
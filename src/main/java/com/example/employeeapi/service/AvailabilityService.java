@@ -0,0 +1,145 @@
+package com.example.employeeapi.service;
+
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.exception.InvalidDateException;
+import com.example.employeeapi.helper.IntervalTree;
+import com.example.employeeapi.model.AbsenceDto;
+import com.example.employeeapi.repository.LeaveRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Answers "who is off between two dates" from an {@link IntervalTree} of approved leave requests instead of the
+ * database. The tree is loaded when the application is ready and kept current by {@link LeaveRequestService} and
+ * {@link EmployeeService} after each committed change. A periodic rebuild picks up changes made outside this
+ * instance, such as another node or manual SQL. The rebuild query runs without holding the lock, so changes recorded
+ * while it runs are kept aside and replayed over the freshly loaded tree; otherwise an approval committed after the
+ * query's snapshot would vanish until the next rebuild.
+ */
+@Service
+public class AvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityService.class);
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IntervalTree<AbsenceDto> absences = new IntervalTree<>();
+    // leave request id -> absence to index, or null to drop; non-null only while a rebuild is running
+    private Map<Long, AbsenceDto> changesDuringRebuild;
+
+    @Autowired
+    public AvailabilityService(LeaveRequestRepository leaveRequestRepository) {
+        this.leaveRequestRepository = leaveRequestRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${employee-api.availability.rebuild-interval-ms:3600000}",
+            initialDelayString = "${employee-api.availability.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        long startNanos = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<AbsenceDto> approved = null;
+        try {
+            approved = leaveRequestRepository.findAbsencesByStatus(LeaveRequestStatus.APPROVED);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (approved != null) {
+                    absences.clear();
+                    approved.forEach(this::put);
+                    changesDuringRebuild.forEach((id, absence) -> {
+                        if (absence != null) {
+                            put(absence);
+                        } else {
+                            absences.remove(id);
+                        }
+                    });
+                }
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Availability index rebuilt with {} approved leave requests in {} ms",
+                approved.size(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    public List<AbsenceDto> whoIsOff(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new InvalidDateException("The end of the range cannot be before its start.");
+        }
+        lock.readLock().lock();
+        try {
+            return absences.overlapping(from.toEpochDay(), to.toEpochDay());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes {@code leaveRequest} if it is approved and drops it otherwise. Call after the change has committed.
+     */
+    public void record(LeaveRequest leaveRequest) {
+        lock.writeLock().lock();
+        try {
+            if (leaveRequest.getStatus() == LeaveRequestStatus.APPROVED) {
+                AbsenceDto absence = AbsenceDto.builder()
+                        .leaveRequestId(leaveRequest.getId())
+                        .employeeId(leaveRequest.getEmployee().getId())
+                        .startDate(leaveRequest.getStartDate())
+                        .endDate(leaveRequest.getEndDate())
+                        .reason(leaveRequest.getReason())
+                        .build();
+                put(absence);
+                trackChange(leaveRequest.getId(), absence);
+            } else {
+                absences.remove(leaveRequest.getId());
+                trackChange(leaveRequest.getId(), null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Collection<Long> leaveRequestIds) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : leaveRequestIds) {
+                absences.remove(id);
+                trackChange(id, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // caller holds the write lock
+    private void trackChange(Long leaveRequestId, AbsenceDto absence) {
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.put(leaveRequestId, absence);
+        }
+    }
+
+    private void put(AbsenceDto absence) {
+        absences.put(absence.getLeaveRequestId(), absence.getStartDate().toEpochDay(), absence.getEndDate().toEpochDay(), absence);
+    }
+}
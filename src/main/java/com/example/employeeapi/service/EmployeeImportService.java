@@ -0,0 +1,171 @@
+package com.example.employeeapi.service;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.enums.LedgerEntryType;
+import com.example.employeeapi.exception.EmployeeImportException;
+import com.example.employeeapi.helper.CsvHelper;
+import com.example.employeeapi.helper.DateHelper;
+import com.example.employeeapi.model.EmployeeImportSummary;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads employees from a {@code name,hire_date} CSV stream (ISO dates, header line optional).
+ * <p>
+ * Rows are parsed one at a time and inserted {@code batchSize} rows per transaction. The session's JDBC batch size is
+ * raised to the same value so every chunk goes out as one batched insert, and ids come from the pooled
+ * {@code employee_seq} sequence, so the database is only asked for ids once every 50 rows. Rows that cannot be
+ * imported are written with their line number and reason to a reject file instead of failing the whole import.
+ */
+@Service
+public class EmployeeImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeImportService.class);
+    private static final String HEADER = "name,hire_date";
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaveLedgerService leaveLedgerService;
+    private final int batchSize;
+    private final Path rejectDirectory;
+
+    @Autowired
+    public EmployeeImportService(EntityManager entityManager,
+                                 TransactionTemplate transactionTemplate,
+                                 LeaveLedgerService leaveLedgerService,
+                                 @Value("${employee-api.import.batch-size:500}") int batchSize,
+                                 @Value("${employee-api.import.reject-dir:${java.io.tmpdir}}") String rejectDirectory) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.leaveLedgerService = leaveLedgerService;
+        this.batchSize = batchSize;
+        this.rejectDirectory = Paths.get(rejectDirectory);
+    }
+
+    public EmployeeImportSummary importCsv(InputStream csv) {
+        long startNanos = System.nanoTime();
+        long imported = 0;
+        long rejected = 0;
+        long batches = 0;
+
+        try {
+            Files.createDirectories(rejectDirectory);
+            Path rejectFile = Files.createTempFile(rejectDirectory, "employee-import-", "-rejects.csv");
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+                 BufferedWriter rejects = Files.newBufferedWriter(rejectFile, StandardCharsets.UTF_8)) {
+                rejects.write("line,reason,row");
+                rejects.newLine();
+
+                List<Employee> batch = new ArrayList<>(batchSize);
+                LocalDate today = LocalDate.now();
+                String line;
+                long lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isBlank() || (lineNumber == 1 && line.trim().equalsIgnoreCase(HEADER))) {
+                        continue;
+                    }
+                    try {
+                        batch.add(parseEmployee(line, today));
+                    } catch (EmployeeImportException e) {
+                        rejected++;
+                        rejects.write(lineNumber + "," + CsvHelper.quote(String.valueOf(e.getMessage())) + "," + CsvHelper.quote(line));
+                        rejects.newLine();
+                    }
+                    if (batch.size() == batchSize) {
+                        imported += insertBatch(batch);
+                        batches++;
+                        batch.clear();
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    imported += insertBatch(batch);
+                    batches++;
+                }
+            }
+            if (rejected == 0) {
+                Files.delete(rejectFile);
+            }
+
+            long durationMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            double rowsPerSecond = durationMillis == 0 ? imported : imported * 1000.0 / durationMillis;
+            log.info("Employee import finished: {} imported, {} rejected in {} batches, {} ms ({} rows/s)",
+                    imported, rejected, batches, durationMillis, String.format("%.1f", rowsPerSecond));
+
+            return EmployeeImportSummary.builder()
+                    .importedEmployees(imported)
+                    .rejectedRows(rejected)
+                    .batches(batches)
+                    .durationMillis(durationMillis)
+                    .rowsPerSecond(rowsPerSecond)
+                    .rejectFile(rejected == 0 ? null : rejectFile.toAbsolutePath().toString())
+                    .build();
+        } catch (IOException e) {
+            throw new EmployeeImportException("Employee import failed after " + imported + " rows: " + e.getMessage(), e);
+        }
+    }
+
+    private Employee parseEmployee(String line, LocalDate today) {
+        List<String> fields = CsvHelper.parseLine(line);
+        if (fields.size() != 2) {
+            throw new EmployeeImportException("Expected 2 columns but found " + fields.size());
+        }
+        String name = fields.get(0).trim();
+        if (name.isEmpty()) {
+            throw new EmployeeImportException("Name is required");
+        }
+        LocalDate hireDate;
+        try {
+            hireDate = LocalDate.parse(fields.get(1).trim());
+        } catch (DateTimeParseException e) {
+            throw new EmployeeImportException("Invalid hire date: " + fields.get(1).trim());
+        }
+        if (hireDate.isAfter(today)) {
+            throw new EmployeeImportException("Hire date is in the future");
+        }
+        return Employee.builder()
+                .name(name)
+                .hireDate(hireDate)
+                .remainingLeaveDays(DateHelper.calculateRemainingDaysForNewRecord(hireDate))
+                .build();
+    }
+
+    private int insertBatch(List<Employee> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            session.setJdbcBatchSize(batchSize);
+            // an import should not push the employees that are actually being read out of the second-level cache
+            session.setCacheMode(CacheMode.GET);
+            for (Employee employee : batch) {
+                entityManager.persist(employee);
+            }
+            for (Employee employee : batch) {
+                entityManager.persist(leaveLedgerService.entry(employee, LedgerEntryType.OPENING, employee.getRemainingLeaveDays(), null));
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+        return batch.size();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.employeeapi.service;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.exception.EmployeeNotFoundException;
+import com.example.employeeapi.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Read-through cache in front of {@link EmployeeRepository#findById}. Size and TTL come from
+ * {@code spring.cache.caffeine.spec}, and hit/miss/eviction counts are published by the actuator as the
+ * {@code cache.*} metrics tagged {@code cache=employees}.
+ * <p>
+ * Cached employees are detached and shared between callers, so they must only be read. Code that changes an employee
+ * loads it from the repository and calls {@link #evict(Long)} or {@link #evictAll()} afterwards.
+ */
+@Service
+public class EmployeeLookupService {
+
+    public static final String EMPLOYEE_CACHE = "employees";
+
+    private final EmployeeRepository employeeRepository;
+
+    @Autowired
+    public EmployeeLookupService(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    @Cacheable(cacheNames = EMPLOYEE_CACHE, key = "#id")
+    public Employee getEmployee(Long id) {
+        return employeeRepository.findById(id)
+                .orElseThrow(() -> new EmployeeNotFoundException("Employee not found"));
+    }
+
+    @CacheEvict(cacheNames = EMPLOYEE_CACHE, key = "#id")
+    public void evict(Long id) {
+    }
+
+    @CacheEvict(cacheNames = EMPLOYEE_CACHE, allEntries = true)
+    public void evictAll() {
+    }
+}
@@ -2,36 +2,55 @@ package com.example.employeeapi.service;
 
 import com.example.employeeapi.entity.Employee;
 import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LedgerEntryType;
 import com.example.employeeapi.exception.EmployeeNotFoundException;
+import com.example.employeeapi.helper.CursorHelper;
+import com.example.employeeapi.helper.EtagHelper;
 import com.example.employeeapi.helper.DateHelper;
+import com.example.employeeapi.model.AccrualRunSummary;
+import com.example.employeeapi.model.CursorPage;
 import com.example.employeeapi.model.EmployeeDto;
+import com.example.employeeapi.model.EmployeeFilter;
 import com.example.employeeapi.repository.EmployeeRepository;
 import com.example.employeeapi.repository.LeaveRequestRepository;
-import org.modelmapper.ModelMapper;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
-import java.time.Period;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "service.calls", histogram = true)
 public class EmployeeService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final EmployeeRepository employeeRepository;
     private final LeaveRequestRepository leaveRequestRepository;
-    private final ModelMapper modelMapper;
+    private final LeaveAccrualService leaveAccrualService;
+    private final EmployeeLookupService employeeLookupService;
+    private final AvailabilityService availabilityService;
+    private final LeaveLedgerService leaveLedgerService;
+    private final LeaveUsageService leaveUsageService;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public EmployeeService(EmployeeRepository employeeRepository, ModelMapper modelMapper, LeaveRequestRepository leaveRequestRepository) {
+    public EmployeeService(EmployeeRepository employeeRepository, LeaveRequestRepository leaveRequestRepository,
+                           LeaveAccrualService leaveAccrualService, EmployeeLookupService employeeLookupService,
+                           AvailabilityService availabilityService, LeaveLedgerService leaveLedgerService,
+                           LeaveUsageService leaveUsageService, TransactionTemplate transactionTemplate) {
         this.employeeRepository = employeeRepository;
-        this.modelMapper = modelMapper;
         this.leaveRequestRepository = leaveRequestRepository;
+        this.leaveAccrualService = leaveAccrualService;
+        this.employeeLookupService = employeeLookupService;
+        this.availabilityService = availabilityService;
+        this.leaveLedgerService = leaveLedgerService;
+        this.leaveUsageService = leaveUsageService;
+        this.transactionTemplate = transactionTemplate;
     }
 
     public Employee createEmployee(EmployeeDto employeeDto) {
@@ -45,12 +64,11 @@ public class EmployeeService {
                 .remainingLeaveDays(remainingLeaveDays)
                 .build();
 
-        return employeeRepository.save(newEmployee);
-    }
-
-    private List<EmployeeDto> bulkUpdateEmployees(List<Employee> employees) {
-        List<Employee> savedEmployees = employeeRepository.saveAll(employees);
-        return employeeListToEmployeeDtoList(savedEmployees);
+        return transactionTemplate.execute(status -> {
+            Employee savedEmployee = employeeRepository.save(newEmployee);
+            leaveLedgerService.append(savedEmployee, LedgerEntryType.OPENING, remainingLeaveDays, null);
+            return savedEmployee;
+        });
     }
 
     public Employee updateEmployee(Long id, EmployeeDto employee) {
@@ -62,10 +80,21 @@ public class EmployeeService {
         if (Objects.nonNull(employee.getHireDate())) {
             existingEmployee.setHireDate(employee.getHireDate());
         }
-        if (Objects.nonNull(employee.getRemainingLeaveDays())) {
+        boolean adjusted = Objects.nonNull(employee.getRemainingLeaveDays())
+                && !employee.getRemainingLeaveDays().equals(existingEmployee.getRemainingLeaveDays());
+        if (adjusted) {
             existingEmployee.setRemainingLeaveDays(employee.getRemainingLeaveDays());
         }
-        return employeeRepository.save(existingEmployee);
+        Employee savedEmployee = transactionTemplate.execute(status -> {
+            Employee saved = employeeRepository.save(existingEmployee);
+            if (adjusted) {
+                employeeRepository.flush();
+                leaveLedgerService.append(saved, LedgerEntryType.ADJUSTMENT, saved.getRemainingLeaveDays(), null);
+            }
+            return saved;
+        });
+        employeeLookupService.evict(id);
+        return savedEmployee;
     }
 
     public void deleteEmployee(Long id) {
@@ -73,8 +102,14 @@ public class EmployeeService {
                 .orElseThrow(() -> new EmployeeNotFoundException("Employee not found"));
         List<LeaveRequest> leaveRequestList = leaveRequestRepository.findByEmployeeId(existingEmployee.getId());
 
-        leaveRequestRepository.deleteAll(leaveRequestList);
-        employeeRepository.delete(existingEmployee);
+        transactionTemplate.executeWithoutResult(status -> {
+            leaveRequestRepository.deleteAll(leaveRequestList);
+            leaveUsageService.removed(leaveRequestList);
+            employeeRepository.delete(existingEmployee);
+            leaveLedgerService.deleteLedger(id);
+        });
+        employeeLookupService.evict(id);
+        availabilityService.remove(leaveRequestList.stream().map(LeaveRequest::getId).toList());
     }
 
     public List<Employee> getAllEmployees() {
@@ -82,42 +117,43 @@ public class EmployeeService {
         return employees;
     }
 
-    public Employee getEmployeeById(Long id) {
-        Optional<Employee> employee = employeeRepository.findById(id);
-        if (!employee.isPresent()) {
-            throw new EmployeeNotFoundException("Employee not found");
+    public CursorPage<Employee> listEmployees(EmployeeFilter filter, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<Employee> employees = employeeRepository.findPage(filter, CursorHelper.decode(cursor), pageSize + 1);
+        String etag = EtagHelper.fromRows(employees, employee -> new Object[]{employee.getId(), employee.getVersion()});
+        if (employees.size() <= pageSize) {
+            return new CursorPage<>(employees, null, etag);
         }
-        return employee.get();
+        List<Employee> page = employees.subList(0, pageSize);
+        return new CursorPage<>(page, CursorHelper.encode(page.get(pageSize - 1).getId()), etag);
     }
 
-    @Scheduled(cron = "0 0 0 * * ?") // runs every night at midnight
-    private void updateRemainingLeave() {
-        List<Employee> employees = employeeRepository.findAll();
-        List<Employee> employeesToUpdate = new ArrayList<>();
-        for (Employee employee : employees) {
-            LocalDate hireDate = employee.getHireDate();
-            LocalDate currentDate = LocalDate.now();
-            int yearsWorked = Period.between(hireDate, currentDate).getYears();
-            if (yearsWorked >= 1 && yearsWorked <= 5) {
-                employee.setRemainingLeaveDays(15);
-            } else if (yearsWorked > 5 && yearsWorked <= 10) {
-                employee.setRemainingLeaveDays(18);
-            } else {
-                employee.setRemainingLeaveDays(24);
-            }
-            employeesToUpdate.add(employee);
-        }
-        bulkUpdateEmployees(employeesToUpdate);
+    public Employee getEmployeeById(Long id) {
+        return employeeLookupService.getEmployee(id);
     }
 
-    private List<EmployeeDto> employeeListToEmployeeDtoList(List<Employee> employees) {
-        return employees.stream()
-                .map(employee -> modelMapper.map(employee, EmployeeDto.class)).collect(Collectors.toList());
+    /**
+     * ETag of {@link #getEmployeeById}, from the version column alone so a matching {@code If-None-Match} is
+     * answered without loading the employee. Only worth a query when the request has an {@code If-None-Match}.
+     */
+    public String getEmployeeEtag(Long id) {
+        return employeeRepository.findVersionById(id)
+                .map(EtagHelper::fromVersions)
+                .orElseThrow(() -> new EmployeeNotFoundException("Employee not found"));
+    }
 
+    /**
+     * ETag of the page {@link #listEmployees} would return, digested from the ids and versions of the same window
+     * including the look-ahead row that decides the next cursor. Only worth a query when the request has an
+     * {@code If-None-Match} to compare it with; otherwise the page carries the same ETag.
+     */
+    public String getEmployeePageEtag(EmployeeFilter filter, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return EtagHelper.fromRows(employeeRepository.findPageVersions(filter, CursorHelper.decode(cursor), pageSize + 1));
     }
 
-    private List<Employee> employeeDtoListToEmployeeList(List<EmployeeDto> employeeDtos) {
-        return employeeDtos.stream()
-                .map(employeeDto -> modelMapper.map(employeeDto, Employee.class)).collect(Collectors.toList());
+    @Scheduled(cron = "${employee-api.accrual.cron:0 0 0 * * ?}") // runs every night at midnight
+    public AccrualRunSummary updateRemainingLeave() {
+        return leaveAccrualService.run();
     }
 }
@@ -0,0 +1,314 @@
+package com.example.employeeapi.service;
+
+import com.example.employeeapi.entity.AccrualCheckpoint;
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.enums.AccrualMode;
+import com.example.employeeapi.enums.LedgerEntryType;
+import com.example.employeeapi.enums.LeaveEntitlementTier;
+import com.example.employeeapi.model.AccrualRunSummary;
+import com.example.employeeapi.repository.AccrualCheckpointRepository;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.repository.LeaveLedgerRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.Query;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resets the remaining leave days of every employee according to {@link LeaveEntitlementTier}.
+ * <p>
+ * In {@link AccrualMode#CHUNKED} mode the employees table is walked in id order, one chunk per transaction.
+ * Progress is written to {@link AccrualCheckpoint} together with each chunk, so a run that dies half way resumes
+ * after the last committed employee instead of starting over, either when the application starts again or when
+ * {@link #run()} is called again on the same day. A chunk that loses its optimistic check against a concurrent
+ * approval or update is retried with fresh rows, and only the employees whose balance changed are evicted from
+ * {@link EmployeeLookupService}. In {@link AccrualMode#SET_BASED} mode the same tiers
+ * are rendered into a single {@code UPDATE ... CASE} statement and the database does the work in one pass. Either
+ * way, only employees whose balance actually changes are written, and each of them gets an
+ * {@link LedgerEntryType#ACCRUAL} ledger entry in the same transaction.
+ * The set-based statement evicts the whole {@link Employee} second-level cache region when it commits.
+ */
+@Service
+public class LeaveAccrualService {
+
+    static final String JOB_NAME = "leave-accrual";
+    static final int CHUNK_ATTEMPTS = 3;
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveAccrualService.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final AccrualCheckpointRepository checkpointRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final AccrualMode mode;
+    private final EmployeeLookupService employeeLookupService;
+    private final LeaveLedgerService leaveLedgerService;
+    private final LeaveLedgerRepository leaveLedgerRepository;
+    private final AtomicLong lastRunDurationMillis = new AtomicLong();
+    private final AtomicLong lastRunProcessedEmployees = new AtomicLong();
+    private final AtomicLong lastRunCompletedEpochSecond = new AtomicLong();
+
+    @Autowired
+    public LeaveAccrualService(EmployeeRepository employeeRepository,
+                               EmployeeLookupService employeeLookupService,
+                               LeaveLedgerService leaveLedgerService,
+                               LeaveLedgerRepository leaveLedgerRepository,
+                               AccrualCheckpointRepository checkpointRepository,
+                               EntityManager entityManager,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${employee-api.accrual.chunk-size:500}") int chunkSize,
+                               @Value("${employee-api.accrual.mode:CHUNKED}") AccrualMode mode,
+                               MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.employeeLookupService = employeeLookupService;
+        this.leaveLedgerService = leaveLedgerService;
+        this.leaveLedgerRepository = leaveLedgerRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.mode = mode;
+
+        TimeGauge.builder("leave.accrual.last.duration", lastRunDurationMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .register(meterRegistry);
+        Gauge.builder("leave.accrual.last.employees", lastRunProcessedEmployees, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("leave.accrual.last.completed", lastRunCompletedEpochSecond, AtomicLong::get)
+                .baseUnit("seconds")
+                .description("Epoch second at which the last accrual run completed")
+                .register(meterRegistry);
+    }
+
+    public AccrualRunSummary run() {
+        return mode == AccrualMode.SET_BASED ? runSetBased() : runChunked();
+    }
+
+    public AccrualRunSummary runSetBased() {
+        LocalDate today = LocalDate.now();
+        long startNanos = System.nanoTime();
+
+        Integer updated = transactionTemplate.execute(status -> {
+            // the rows are locked first, so the ledger records exactly the rows and versions the update then writes
+            withCutoffs(entityManager.createNativeQuery("select e.id from employees e where "
+                    + "e.remaining_leave_days <> " + tierCase("e.hire_date") + " for update"), today).getResultList();
+            withCutoffs(entityManager.createNativeQuery("insert into leave_ledger "
+                    + "(id, employee_id, employee_version, entry_type, days, created_at) "
+                    + "select nextval('leave_ledger_seq'), e.id, e.version + 1, :entryType, " + tierCase("e.hire_date")
+                    + ", :createdAt from employees e where e.remaining_leave_days <> " + tierCase("e.hire_date")), today)
+                    .setParameter("entryType", LedgerEntryType.ACCRUAL.name())
+                    .setParameter("createdAt", Instant.now())
+                    .setHint(HibernateHints.HINT_NATIVE_SPACES, "leave_ledger")
+                    .executeUpdate();
+            int rows = withCutoffs(entityManager.createQuery("update Employee e set e.version = e.version + 1, "
+                    + "e.remainingLeaveDays = " + tierCase("e.hireDate") + " where e.remainingLeaveDays <> "
+                    + tierCase("e.hireDate")), today).executeUpdate();
+            entityManager.clear();
+            return rows;
+        });
+        employeeLookupService.evictAll();
+
+        long durationMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        recordRun(durationMillis, updated);
+        log.info("Set-based leave accrual for {} finished: {} employees in {} ms", today, updated, durationMillis);
+
+        return AccrualRunSummary.builder()
+                .runDate(today)
+                .processedEmployees(updated)
+                .chunks(1)
+                .durationMillis(durationMillis)
+                .rowsPerSecond(durationMillis == 0 ? updated : updated * 1000.0 / durationMillis)
+                .build();
+    }
+
+    public AccrualRunSummary runChunked() {
+        return runChunked(LocalDate.now());
+    }
+
+    /**
+     * Finishes a chunked run that stopped before completing, for the date it was started on. Without this a run that
+     * died would only be picked up if {@link #run()} happened to be called again on the same day, which the nightly
+     * schedule never does.
+     */
+    public Optional<AccrualRunSummary> resumeIncomplete() {
+        Optional<AccrualCheckpoint> checkpoint = checkpointRepository.findById(JOB_NAME)
+                .filter(incomplete -> !incomplete.isCompleted());
+        if (checkpoint.isEmpty()) {
+            return Optional.empty();
+        }
+        log.info("Resuming the leave accrual for {} after employee {}", checkpoint.get().getRunDate(),
+                checkpoint.get().getLastEmployeeId());
+        return Optional.of(runChunked(checkpoint.get().getRunDate()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeIncompleteOnStartup() {
+        try {
+            resumeIncomplete();
+        } catch (RuntimeException e) {
+            // the checkpoint is still there, so the next start or a manual run picks up from the same place
+            log.error("Could not resume the interrupted leave accrual", e);
+        }
+    }
+
+    private synchronized AccrualRunSummary runChunked(LocalDate today) {
+        long startNanos = System.nanoTime();
+
+        AccrualCheckpoint checkpoint = transactionTemplate.execute(status -> startOrResume(today));
+        Long resumedFrom = checkpoint.getLastEmployeeId();
+        Long lastId = resumedFrom;
+        long processed = 0;
+        long chunks = 0;
+
+        while (true) {
+            List<Long> changedIds = new ArrayList<>();
+            List<Long> chunkIds = processChunkWithRetry(lastId, today, changedIds);
+            if (chunkIds.isEmpty()) {
+                break;
+            }
+            changedIds.forEach(employeeLookupService::evict);
+            lastId = chunkIds.get(chunkIds.size() - 1);
+            processed += chunkIds.size();
+            chunks++;
+        }
+        transactionTemplate.executeWithoutResult(status -> complete());
+
+        long durationMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        recordRun(durationMillis, processed);
+        double rowsPerSecond = durationMillis == 0 ? processed : processed * 1000.0 / durationMillis;
+        log.info("Leave accrual for {} finished: {} employees in {} chunks, {} ms ({} rows/s), resumed after id {}",
+                today, processed, chunks, durationMillis, String.format("%.1f", rowsPerSecond), resumedFrom);
+
+        return AccrualRunSummary.builder()
+                .runDate(today)
+                .resumedFromEmployeeId(resumedFrom)
+                .processedEmployees(processed)
+                .chunks(chunks)
+                .durationMillis(durationMillis)
+                .rowsPerSecond(rowsPerSecond)
+                .build();
+    }
+
+    private void recordRun(long durationMillis, long processedEmployees) {
+        lastRunDurationMillis.set(durationMillis);
+        lastRunProcessedEmployees.set(processedEmployees);
+        lastRunCompletedEpochSecond.set(Instant.now().getEpochSecond());
+    }
+
+    private AccrualCheckpoint startOrResume(LocalDate today) {
+        AccrualCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME)
+                .orElseGet(() -> AccrualCheckpoint.builder().jobName(JOB_NAME).build());
+        boolean resumable = today.equals(checkpoint.getRunDate()) && !checkpoint.isCompleted();
+        if (!resumable) {
+            checkpoint.setRunDate(today);
+            checkpoint.setLastEmployeeId(0L);
+            checkpoint.setProcessedCount(0L);
+            checkpoint.setCompleted(false);
+        }
+        checkpoint.setUpdatedAt(Instant.now());
+        return checkpointRepository.save(checkpoint);
+    }
+
+    /**
+     * Runs {@link #processChunk} in its own transaction, starting over with freshly loaded employees when a concurrent
+     * approval or update changed one of them in between, up to {@link #CHUNK_ATTEMPTS} times.
+     */
+    private List<Long> processChunkWithRetry(Long lastId, LocalDate today, List<Long> changedIds) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                changedIds.clear();
+                return transactionTemplate.execute(status -> processChunk(lastId, today, changedIds));
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= CHUNK_ATTEMPTS) {
+                    throw e;
+                }
+                log.info("Leave accrual chunk after employee {} lost its optimistic check on attempt {}, retrying", lastId, attempt);
+            }
+        }
+    }
+
+    private List<Long> processChunk(Long lastId, LocalDate today, List<Long> changedIds) {
+        // walking every employee would otherwise churn the second-level cache; changed rows are still invalidated
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.GET);
+        List<Employee> employees = employeeRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, chunkSize));
+        if (employees.isEmpty()) {
+            return List.of();
+        }
+        List<Employee> accrued = new ArrayList<>();
+        for (Employee employee : employees) {
+            int yearsWorked = Period.between(employee.getHireDate(), today).getYears();
+            int days = LeaveEntitlementTier.forYearsWorked(yearsWorked).getDays();
+            if (!Integer.valueOf(days).equals(employee.getRemainingLeaveDays())) {
+                employee.setRemainingLeaveDays(days);
+                accrued.add(employee);
+            }
+        }
+        List<Long> ids = employees.stream().map(Employee::getId).toList();
+        accrued.forEach(employee -> changedIds.add(employee.getId()));
+
+        AccrualCheckpoint checkpoint = checkpointRepository.getReferenceById(JOB_NAME);
+        checkpoint.setLastEmployeeId(ids.get(ids.size() - 1));
+        checkpoint.setProcessedCount(checkpoint.getProcessedCount() + ids.size());
+        checkpoint.setUpdatedAt(Instant.now());
+
+        entityManager.flush();
+        leaveLedgerRepository.saveAll(accrued.stream()
+                .map(employee -> leaveLedgerService.entry(employee, LedgerEntryType.ACCRUAL, employee.getRemainingLeaveDays(), null))
+                .toList());
+        entityManager.flush();
+        entityManager.clear();
+        return ids;
+    }
+
+    private void complete() {
+        AccrualCheckpoint checkpoint = checkpointRepository.getReferenceById(JOB_NAME);
+        checkpoint.setCompleted(true);
+        checkpoint.setUpdatedAt(Instant.now());
+    }
+
+    /**
+     * The entitlement of an employee hired on {@code hireDate}, as a {@code CASE} expression that works in JPQL and
+     * native SQL alike. An employee has completed at least {@code n} years exactly when the hire date is on or before
+     * {@code today.minusYears(n)}, which is how {@link Period} counts years, including around 29 February. Rows whose
+     * balance already matches are left alone, so their version, their ETags and the ledger do not change.
+     */
+    private static String tierCase(String hireDate) {
+        LeaveEntitlementTier[] tiers = LeaveEntitlementTier.values();
+        StringBuilder expression = new StringBuilder("case");
+        for (int i = tiers.length - 1; i > 0; i--) {
+            expression.append(" when ").append(hireDate).append(" <= :cutoff").append(i).append(" then ").append(tiers[i].getDays());
+        }
+        return expression.append(" else ").append(tiers[0].getDays()).append(" end").toString();
+    }
+
+    private static Query withCutoffs(Query query, LocalDate today) {
+        LeaveEntitlementTier[] tiers = LeaveEntitlementTier.values();
+        for (int i = tiers.length - 1; i > 0; i--) {
+            query.setParameter("cutoff" + i, today.minusYears(tiers[i].getMinYears()));
+        }
+        return query;
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.employeeapi.service;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveBalanceSnapshot;
+import com.example.employeeapi.entity.LeaveLedgerEntry;
+import com.example.employeeapi.enums.LedgerEntryType;
+import com.example.employeeapi.exception.EmployeeNotFoundException;
+import com.example.employeeapi.model.LeaveBalanceDto;
+import com.example.employeeapi.repository.LeaveBalanceSnapshotRepository;
+import com.example.employeeapi.repository.LeaveLedgerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only ledger of leave balance changes, with per-employee snapshots so a balance is the snapshot plus the
+ * few entries written since.
+ * <p>
+ * {@code employees.remaining_leave_days} is kept as the materialized result of the ledger and is updated in the same
+ * transaction as each entry. Approvals still debit it with a conditional update, which is what stops two
+ * approvals from spending the same days; the ledger adds the audit trail and an independent way to derive the
+ * balance, not a lock-free write path.
+ */
+@Service
+public class LeaveLedgerService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveLedgerService.class);
+
+    private final LeaveLedgerRepository leaveLedgerRepository;
+    private final LeaveBalanceSnapshotRepository snapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int snapshotChunkSize;
+
+    @Autowired
+    public LeaveLedgerService(LeaveLedgerRepository leaveLedgerRepository, LeaveBalanceSnapshotRepository snapshotRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${employee-api.ledger.snapshot-chunk-size:500}") int snapshotChunkSize) {
+        this.leaveLedgerRepository = leaveLedgerRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.snapshotChunkSize = snapshotChunkSize;
+    }
+
+    /**
+     * Records a balance change of {@code employee}, which must already carry the version the change produced.
+     */
+    public LeaveLedgerEntry append(Employee employee, LedgerEntryType type, int days, Long leaveRequestId) {
+        return leaveLedgerRepository.save(entry(employee, type, days, leaveRequestId));
+    }
+
+    public LeaveLedgerEntry entry(Employee employee, LedgerEntryType type, int days, Long leaveRequestId) {
+        return LeaveLedgerEntry.builder()
+                .employeeId(employee.getId())
+                .employeeVersion(employee.getVersion())
+                .entryType(type)
+                .days(days)
+                .leaveRequestId(leaveRequestId)
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    public List<LeaveLedgerEntry> getLedger(Long employeeId) {
+        List<LeaveLedgerEntry> ledger = leaveLedgerRepository.findByEmployeeIdOrderByEmployeeVersionAsc(employeeId);
+        if (ledger.isEmpty()) {
+            throw new EmployeeNotFoundException("No leave ledger for employee " + employeeId);
+        }
+        return ledger;
+    }
+
+    /**
+     * Removes the ledger and snapshot of a deleted employee. Run it in the transaction that deletes the employee.
+     */
+    public void deleteLedger(Long employeeId) {
+        leaveLedgerRepository.deleteByEmployeeId(employeeId);
+        snapshotRepository.deleteByEmployeeId(employeeId);
+    }
+
+    public LeaveBalanceDto getBalance(Long employeeId) {
+        LeaveBalanceSnapshot snapshot = snapshotRepository.findById(employeeId).orElse(null);
+        long snapshotVersion = snapshot == null ? -1 : snapshot.getEmployeeVersion();
+        List<LeaveLedgerEntry> tail = leaveLedgerRepository
+                .findByEmployeeIdAndEmployeeVersionGreaterThanOrderByEmployeeVersionAsc(employeeId, snapshotVersion);
+        if (snapshot == null && tail.isEmpty()) {
+            throw new EmployeeNotFoundException("No leave ledger for employee " + employeeId);
+        }
+        int balance = snapshot == null ? 0 : snapshot.getBalance();
+        for (LeaveLedgerEntry entry : tail) {
+            balance = entry.getEntryType().apply(balance, entry.getDays());
+        }
+        return LeaveBalanceDto.builder()
+                .employeeId(employeeId)
+                .remainingLeaveDays(balance)
+                .snapshotVersion(snapshot == null ? null : snapshotVersion)
+                .tailEntries(tail.size())
+                .build();
+    }
+
+    /**
+     * Folds every employee's new entries into their snapshot, {@code employee-api.ledger.snapshot-chunk-size}
+     * employees per transaction, and returns how many snapshots were written.
+     */
+    @Scheduled(fixedDelayString = "${employee-api.ledger.snapshot-interval-ms:600000}",
+            initialDelayString = "${employee-api.ledger.snapshot-interval-ms:600000}")
+    public int snapshot() {
+        long startNanos = System.nanoTime();
+        int written = 0;
+        Long lastEmployeeId = 0L;
+        while (true) {
+            List<Long> employeeIds = leaveLedgerRepository.findEmployeeIdsWithTail(lastEmployeeId, PageRequest.of(0, snapshotChunkSize));
+            if (employeeIds.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> snapshotChunk(employeeIds));
+            written += employeeIds.size();
+            lastEmployeeId = employeeIds.get(employeeIds.size() - 1);
+        }
+        log.info("Leave balance snapshots written for {} employees in {} ms", written, (System.nanoTime() - startNanos) / 1_000_000);
+        return written;
+    }
+
+    private void snapshotChunk(List<Long> employeeIds) {
+        Map<Long, LeaveBalanceSnapshot> snapshots = snapshotRepository.findAllById(employeeIds).stream()
+                .collect(Collectors.toMap(LeaveBalanceSnapshot::getEmployeeId, Function.identity()));
+        Instant now = Instant.now();
+        List<LeaveBalanceSnapshot> changed = new ArrayList<>();
+        LeaveBalanceSnapshot current = null;
+        for (LeaveLedgerEntry entry : leaveLedgerRepository.findTails(employeeIds)) {
+            if (current == null || !current.getEmployeeId().equals(entry.getEmployeeId())) {
+                current = snapshots.computeIfAbsent(entry.getEmployeeId(), employeeId -> LeaveBalanceSnapshot.builder()
+                        .employeeId(employeeId)
+                        .build());
+                current.setTakenAt(now);
+                changed.add(current);
+            }
+            current.setBalance(entry.getEntryType().apply(current.getBalance(), entry.getDays()));
+            current.setEmployeeVersion(entry.getEmployeeVersion());
+        }
+        snapshotRepository.saveAll(changed);
+    }
+
+    /**
+     * Opens the ledger of employees that have none yet, such as those created before it existed, with their current
+     * balance.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void openMissingLedgers() {
+        Integer opened = transactionTemplate.execute(status -> leaveLedgerRepository.appendMissingOpeningBalances(Instant.now()));
+        if (opened != null && opened > 0) {
+            log.info("Opened the leave ledger of {} employees with their current balance", opened);
+        }
+    }
+}
@@ -2,72 +2,257 @@ package com.example.employeeapi.service;
 
 import com.example.employeeapi.entity.Employee;
 import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.entity.LeaveUsageKey;
+import com.example.employeeapi.enums.LedgerEntryType;
 import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.enums.LeaveValidationFailure;
 import com.example.employeeapi.exception.EmployeeNotFoundException;
 import com.example.employeeapi.exception.InvalidLeaveRequestException;
 import com.example.employeeapi.exception.LeaveRequestNotFoundException;
+import com.example.employeeapi.helper.CursorHelper;
+import com.example.employeeapi.helper.EtagHelper;
 import com.example.employeeapi.helper.DateHelper;
+import com.example.employeeapi.helper.WorkingDayCalendar;
+import com.example.employeeapi.mapper.LeaveRequestMapper;
+import com.example.employeeapi.model.CursorPage;
+import com.example.employeeapi.model.LeaveRequestBatchItemResult;
+import com.example.employeeapi.model.LeaveRequestBatchResult;
 import com.example.employeeapi.model.LeaveRequestDto;
+import com.example.employeeapi.model.LeaveRequestFilter;
+import com.example.employeeapi.model.LeaveRequestSummaryDto;
 import com.example.employeeapi.repository.EmployeeRepository;
 import com.example.employeeapi.repository.LeaveRequestRepository;
-import org.modelmapper.ModelMapper;
+import com.example.employeeapi.repository.OverlapConstraintInitializer;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "service.calls", histogram = true)
 public class LeaveRequestService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_BATCH_SIZE = 1000;
+    static final String OVERLAP_MESSAGE = "Leave request overlaps another waiting or approved leave request of the employee.";
+    static final String DATE_OUT_OF_RANGE_MESSAGE = "Leave dates are outside the years the holiday calendar covers.";
+
     private final LeaveRequestRepository leaveRequestRepository;
     private final EmployeeRepository employeeRepository;
-    private final ModelMapper modelMapper;
+    private final LeaveRequestMapper leaveRequestMapper;
+    private final WorkingDayCalendar workingDayCalendar;
+    private final EmployeeLookupService employeeLookupService;
+    private final TransactionTemplate transactionTemplate;
+    private final AvailabilityService availabilityService;
+    private final OutboxService outboxService;
+    private final LeaveLedgerService leaveLedgerService;
+    private final LeaveUsageService leaveUsageService;
+    private final MeterRegistry meterRegistry;
+    private final int maxApprovalAttempts;
 
 
     @Autowired
-    public LeaveRequestService(LeaveRequestRepository leaveRequestRepository, EmployeeRepository employeeRepository, ModelMapper modelMapper) {
+    public LeaveRequestService(LeaveRequestRepository leaveRequestRepository, EmployeeRepository employeeRepository, LeaveRequestMapper leaveRequestMapper,
+                               WorkingDayCalendar workingDayCalendar, EmployeeLookupService employeeLookupService,
+                               TransactionTemplate transactionTemplate, AvailabilityService availabilityService, OutboxService outboxService,
+                               LeaveLedgerService leaveLedgerService, LeaveUsageService leaveUsageService, MeterRegistry meterRegistry,
+                               @Value("${employee-api.approval.max-attempts:3}") int maxApprovalAttempts) {
         this.leaveRequestRepository = leaveRequestRepository;
         this.employeeRepository = employeeRepository;
-        this.modelMapper = modelMapper;
+        this.leaveRequestMapper = leaveRequestMapper;
+        this.workingDayCalendar = workingDayCalendar;
+        this.employeeLookupService = employeeLookupService;
+        this.transactionTemplate = transactionTemplate;
+        this.availabilityService = availabilityService;
+        this.outboxService = outboxService;
+        this.leaveLedgerService = leaveLedgerService;
+        this.leaveUsageService = leaveUsageService;
+        this.meterRegistry = meterRegistry;
+        this.maxApprovalAttempts = maxApprovalAttempts;
+    }
+
+    public CursorPage<LeaveRequestSummaryDto> list(LeaveRequestFilter filter, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<LeaveRequestSummaryDto> leaveRequests = leaveRequestRepository.findPage(filter, CursorHelper.decode(cursor), pageSize + 1);
+        String etag = EtagHelper.fromRows(leaveRequests, leaveRequest -> new Object[]{
+                leaveRequest.getId(), leaveRequest.getVersion(), leaveRequest.getEmployeeVersion()});
+        if (leaveRequests.size() <= pageSize) {
+            return new CursorPage<>(leaveRequests, null, etag);
+        }
+        List<LeaveRequestSummaryDto> page = leaveRequests.subList(0, pageSize);
+        return new CursorPage<>(page, CursorHelper.encode(page.get(pageSize - 1).getId()), etag);
+    }
+
+    /**
+     * ETag of the page {@link #list(LeaveRequestFilter, String, int)} would return. Each row contributes the
+     * employee's version too, because the summaries carry the employee name. Only worth a query when the request
+     * has an {@code If-None-Match} to compare it with; otherwise the page carries the same ETag.
+     */
+    public String getLeaveRequestPageEtag(LeaveRequestFilter filter, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return EtagHelper.fromRows(leaveRequestRepository.findPageVersions(filter, CursorHelper.decode(cursor), pageSize + 1));
+    }
+
+    public LeaveRequest getLeaveRequest(Long id) {
+        return leaveRequestRepository.findById(id)
+                .orElseThrow(() -> new LeaveRequestNotFoundException("Leave request not found"));
     }
 
-    public List<LeaveRequest> list() {
-        return leaveRequestRepository.findAll();
+    /**
+     * ETag of {@link #getLeaveRequest}, from the leave request and employee versions without loading either. Only
+     * worth a query when the request has an {@code If-None-Match}.
+     */
+    public String getLeaveRequestEtag(Long id) {
+        return leaveRequestRepository.findVersionsById(id)
+                .map(versions -> EtagHelper.fromVersions(versions.getVersion(), versions.getEmployeeVersion()))
+                .orElseThrow(() -> new LeaveRequestNotFoundException("Leave request not found"));
     }
 
     public LeaveRequest createLeaveRequest(LeaveRequestDto leaveRequestDto) {
-        Employee employee = employeeRepository.findById(leaveRequestDto.getEmployeeId())
-                .orElseThrow(() -> new EmployeeNotFoundException("Employee not found"));
+        Employee employee = employeeLookupService.getEmployee(leaveRequestDto.getEmployeeId());
+
+        validateNewLeaveRequest(leaveRequestDto, employee, 0);
+        if (leaveRequestRepository.existsOverlapping(employee.getId(), leaveRequestDto.getStartDate(), leaveRequestDto.getEndDate(), null)) {
+            throw rejected(LeaveValidationFailure.OVERLAP, OVERLAP_MESSAGE);
+        }
+
+        LeaveRequest leaveRequest = leaveRequestMapper.toEntity(leaveRequestDto, employee);
+        leaveRequest.setStatus(LeaveRequestStatus.WAITING_FOR_APPROVAL);
+
+        return saveChecked(() -> transactionTemplate.execute(status -> {
+            LeaveRequest savedLeaveRequest = leaveRequestRepository.save(leaveRequest);
+            leaveUsageService.added(List.of(savedLeaveRequest));
+            return savedLeaveRequest;
+        }));
+    }
+
+    /**
+     * Validates every request with the same rules as {@link #createLeaveRequest(LeaveRequestDto)}, counting the days
+     * of earlier valid requests in the batch against the same employee's balance and rejecting overlaps with them.
+     * Employees and their active requests that could overlap are loaded with one query each, and all valid requests
+     * are inserted together, so the inserts go out as JDBC batches.
+     */
+    public LeaveRequestBatchResult createLeaveRequests(List<LeaveRequestDto> leaveRequestDtos) {
+        if (leaveRequestDtos.isEmpty() || leaveRequestDtos.size() > MAX_BATCH_SIZE) {
+            throw rejected(LeaveValidationFailure.BATCH_SIZE, "A batch must contain between 1 and " + MAX_BATCH_SIZE + " leave requests.");
+        }
+        Set<Long> employeeIds = leaveRequestDtos.stream()
+                .map(LeaveRequestDto::getEmployeeId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Employee> employees = employeeRepository.findAllById(employeeIds).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        Map<Long, List<LeaveRequest>> taken = leaveRequestDtos.stream()
+                .map(LeaveRequestDto::getStartDate)
+                .filter(Objects::nonNull)
+                .min(LocalDate::compareTo)
+                .map(earliest -> leaveRequestRepository.findActiveEndingOnOrAfter(employees.keySet(), earliest))
+                .orElse(List.of())
+                .stream()
+                .collect(Collectors.groupingBy(leaveRequest -> leaveRequest.getEmployee().getId(),
+                        Collectors.toCollection(ArrayList::new)));
+
+        Map<Long, Integer> requestedDays = new HashMap<>();
+        List<LeaveRequestBatchItemResult> items = new ArrayList<>(leaveRequestDtos.size());
+        List<LeaveRequest> toSave = new ArrayList<>();
+        List<LeaveRequestBatchItemResult> pending = new ArrayList<>();
+
+        for (int index = 0; index < leaveRequestDtos.size(); index++) {
+            LeaveRequestDto leaveRequestDto = leaveRequestDtos.get(index);
+            try {
+                Employee employee = employees.get(leaveRequestDto.getEmployeeId());
+                if (Objects.isNull(employee)) {
+                    throw new EmployeeNotFoundException("Employee not found");
+                }
+                validateNewLeaveRequest(leaveRequestDto, employee, requestedDays.getOrDefault(employee.getId(), 0));
+                List<LeaveRequest> employeeTaken = taken.computeIfAbsent(employee.getId(), id -> new ArrayList<>());
+                if (employeeTaken.stream().anyMatch(other -> overlaps(other, leaveRequestDto.getStartDate(), leaveRequestDto.getEndDate()))) {
+                    throw rejected(LeaveValidationFailure.OVERLAP, OVERLAP_MESSAGE);
+                }
+                requestedDays.merge(employee.getId(), leaveRequestDto.getTotalLeaveDays(), Integer::sum);
+
+                LeaveRequest leaveRequest = leaveRequestMapper.toEntity(leaveRequestDto, employee);
+                leaveRequest.setStatus(LeaveRequestStatus.WAITING_FOR_APPROVAL);
+                toSave.add(leaveRequest);
+                employeeTaken.add(leaveRequest);
+
+                LeaveRequestBatchItemResult item = LeaveRequestBatchItemResult.builder().index(index).success(true).build();
+                pending.add(item);
+                items.add(item);
+            } catch (EmployeeNotFoundException | InvalidLeaveRequestException e) {
+                items.add(LeaveRequestBatchItemResult.builder().index(index).success(false).error(e.getMessage()).build());
+            }
+        }
+
+        List<LeaveRequest> saved = saveChecked(() -> transactionTemplate.execute(status -> {
+            List<LeaveRequest> savedLeaveRequests = leaveRequestRepository.saveAll(toSave);
+            leaveUsageService.added(savedLeaveRequests);
+            return savedLeaveRequests;
+        }));
+        for (int i = 0; i < saved.size(); i++) {
+            pending.get(i).setLeaveRequestId(saved.get(i).getId());
+        }
+
+        return LeaveRequestBatchResult.builder()
+                .succeeded(saved.size())
+                .failed(items.size() - saved.size())
+                .items(items)
+                .build();
+    }
 
+    /**
+     * Applies the creation rules to {@code leaveRequestDto}, filling in its total leave days when missing.
+     * {@code alreadyRequestedDays} are days the employee asked for earlier in the same submission.
+     */
+    private void validateNewLeaveRequest(LeaveRequestDto leaveRequestDto, Employee employee, int alreadyRequestedDays) {
+        if (Objects.isNull(leaveRequestDto.getStartDate()) || Objects.isNull(leaveRequestDto.getEndDate())) {
+            throw rejected(LeaveValidationFailure.MISSING_DATES, "Start date and end date are required.");
+        }
+        if (!workingDayCalendar.supports(leaveRequestDto.getStartDate(), leaveRequestDto.getEndDate())) {
+            throw rejected(LeaveValidationFailure.DATE_OUT_OF_RANGE, DATE_OUT_OF_RANGE_MESSAGE);
+        }
         if (Objects.isNull(leaveRequestDto.getTotalLeaveDays())) {
-            int totalLeaveDays = DateHelper.getDaysBetween(leaveRequestDto.getStartDate(), leaveRequestDto.getEndDate());
+            int totalLeaveDays = workingDayCalendar.countWorkingDays(leaveRequestDto.getStartDate(), leaveRequestDto.getEndDate());
             leaveRequestDto.setTotalLeaveDays(totalLeaveDays);
         }
+        int requestedDays = alreadyRequestedDays + leaveRequestDto.getTotalLeaveDays();
 
         LocalDate today = LocalDate.now();
         LocalDate hireDate = employee.getHireDate();
-        if (ChronoUnit.YEARS.between(hireDate, today) == 0 && leaveRequestDto.getTotalLeaveDays() > 5) {
-            throw new InvalidLeaveRequestException("Newly hired employees can only take 5 days of leave in advance.");
+        if (ChronoUnit.YEARS.between(hireDate, today) == 0 && requestedDays > 5) {
+            throw rejected(LeaveValidationFailure.NEW_HIRE_LIMIT, "Newly hired employees can only take 5 days of leave in advance.");
         }
         // This validation can be removed due to business needs. But keeping it and directing employees to request
         // leaving days on time is a better practice
         if (leaveRequestDto.getStartDate().isBefore(today)) {
-            throw new InvalidLeaveRequestException("Cannot create a leave request for a past date.");
+            throw rejected(LeaveValidationFailure.PAST_DATE, "Cannot create a leave request for a past date.");
         }
-        if (leaveRequestDto.getTotalLeaveDays() > employee.getRemainingLeaveDays()) {
-            throw new InvalidLeaveRequestException("Cannot create a leave request exceeding the remaining leave days of the employee.");
+        if (requestedDays > employee.getRemainingLeaveDays()) {
+            throw rejected(LeaveValidationFailure.INSUFFICIENT_BALANCE, "Cannot create a leave request exceeding the remaining leave days of the employee.");
         }
-        if (DateHelper.isWeekend(leaveRequestDto.getStartDate()) && DateHelper.isWeekend(leaveRequestDto.getEndDate())) {
-            throw new InvalidLeaveRequestException("Leave request should contain at least one weekend day.");
+        if (workingDayCalendar.countWorkingDays(leaveRequestDto.getStartDate(), leaveRequestDto.getEndDate()) == 0) {
+            throw rejected(LeaveValidationFailure.NO_WORKING_DAYS, "Leave request should contain at least one working day.");
+        }
+        if (Objects.isNull(leaveRequestDto.getReason())) {
+            throw rejected(LeaveValidationFailure.MISSING_REASON, "Reason is required.");
         }
-
-        LeaveRequest leaveRequest = modelMapper.map(leaveRequestDto, LeaveRequest.class);
-        leaveRequest.setStatus(LeaveRequestStatus.WAITING_FOR_APPROVAL);
-
-        return leaveRequestRepository.save(leaveRequest);
     }
 
 
@@ -75,6 +260,8 @@ public class LeaveRequestService {
         LeaveRequest existingLeaveRequest = leaveRequestRepository.findById(id)
                 .orElseThrow(() -> new LeaveRequestNotFoundException("Leave request not found"));
 
+        LeaveUsageKey previousUsage = LeaveUsageKey.of(existingLeaveRequest);
+        int previousDays = existingLeaveRequest.getTotalLeaveDays();
         if (Objects.nonNull(leaveRequestDto.getReason())) {
             existingLeaveRequest.setReason(leaveRequestDto.getReason());
         }
@@ -87,51 +274,144 @@ public class LeaveRequestService {
         if (!startDate.isEqual(existingLeaveRequest.getStartDate())
                 || !endDate.isEqual(existingLeaveRequest.getEndDate())) {
 
+            if (!workingDayCalendar.supports(startDate, endDate)) {
+                throw rejected(LeaveValidationFailure.DATE_OUT_OF_RANGE, DATE_OUT_OF_RANGE_MESSAGE);
+            }
             existingLeaveRequest.setStartDate(startDate);
             existingLeaveRequest.setEndDate(endDate);
 
-            int totalLeaveDays = DateHelper.getDaysBetween(startDate, endDate);
+            int totalLeaveDays = workingDayCalendar.countWorkingDays(startDate, endDate);
             existingLeaveRequest.setTotalLeaveDays(totalLeaveDays);
+
+            if (LeaveRequestRepository.ACTIVE_STATUSES.contains(existingLeaveRequest.getStatus())
+                    && leaveRequestRepository.existsOverlapping(existingLeaveRequest.getEmployee().getId(), startDate, endDate, id)) {
+                throw rejected(LeaveValidationFailure.OVERLAP, OVERLAP_MESSAGE);
+            }
         }
 
-        return leaveRequestRepository.save(existingLeaveRequest);
+        LeaveRequest updatedLeaveRequest = saveChecked(() -> transactionTemplate.execute(status -> {
+            LeaveRequest savedLeaveRequest = leaveRequestRepository.save(existingLeaveRequest);
+            // merging the detached request leaves a lazy employee proxy on the managed copy, which is what gets
+            // returned and serialized after the session has closed
+            Hibernate.initialize(savedLeaveRequest.getEmployee());
+            leaveUsageService.changed(previousUsage, previousDays, savedLeaveRequest);
+            return savedLeaveRequest;
+        }));
+        availabilityService.record(updatedLeaveRequest);
+        return updatedLeaveRequest;
     }
 
+    /**
+     * Approvals run in their own transaction. The leave request is written first under its optimistic version, then
+     * the balance is debited with a conditional update, so two approvals racing on one employee cannot both spend
+     * the same days, and two approvals of the same request cannot both debit. A transaction that loses an optimistic
+     * version check is rolled back and retried from a fresh read, up to {@code employee-api.approval.max-attempts}.
+     * The status change event and the usage summary delta are written in the same transaction.
+     */
     public LeaveRequest updateLeaveRequestStatus(Long id, LeaveRequestStatus status) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                LeaveRequest updatedLeaveRequest = transactionTemplate.execute(tx -> applyStatus(id, status));
+                employeeLookupService.evict(updatedLeaveRequest.getEmployee().getId());
+                availabilityService.record(updatedLeaveRequest);
+                return updatedLeaveRequest;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxApprovalAttempts) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private LeaveRequest applyStatus(Long id, LeaveRequestStatus status) {
         LeaveRequest existingLeaveRequest = leaveRequestRepository.findById(id)
                 .orElseThrow(() -> new LeaveRequestNotFoundException("Leave request not found"));
 
         if(existingLeaveRequest.getStatus().equals(LeaveRequestStatus.APPROVED)){
-            throw new InvalidLeaveRequestException("You can not update APPROVED leave requests.");
+            throw rejected(LeaveValidationFailure.ALREADY_APPROVED, "You can not update APPROVED leave requests.");
         }
         Employee employee = existingLeaveRequest.getEmployee();
-        if (status == LeaveRequestStatus.APPROVED) {
-            LocalDate today = LocalDate.now();
-            LocalDate hireDate = employee.getHireDate();
-            if (DateHelper.getDaysBetween(hireDate, today) == 0 && existingLeaveRequest.getTotalLeaveDays() > 5) {
-                throw new InvalidLeaveRequestException("Newly hired employees can only take 5 days of leave in advance.");
-            }
-            // This validation can be removed due to business needs. But keeping it and directing managers to approve or
-            // reject leave requests on time is a better practice
-            if (existingLeaveRequest.getStartDate().isBefore(today)) {
-                throw new InvalidLeaveRequestException("Cannot approve a leave request for a past date.");
-            }
-            if (existingLeaveRequest.getTotalLeaveDays() > employee.getRemainingLeaveDays()) {
-                throw new InvalidLeaveRequestException("Cannot approve a leave request exceeding the remaining leave days of the employee.");
-            }
-            int leaveDays = DateHelper.calculateLeaveDays(existingLeaveRequest.getStartDate(), existingLeaveRequest.getEndDate());
-            employee.setRemainingLeaveDays(employee.getRemainingLeaveDays() - leaveDays);
-            employeeRepository.save(employee);
+        if (!LeaveRequestRepository.ACTIVE_STATUSES.contains(existingLeaveRequest.getStatus())
+                && LeaveRequestRepository.ACTIVE_STATUSES.contains(status)
+                && leaveRequestRepository.existsOverlapping(employee.getId(), existingLeaveRequest.getStartDate(),
+                existingLeaveRequest.getEndDate(), id)) {
+            throw rejected(LeaveValidationFailure.OVERLAP, OVERLAP_MESSAGE);
         }
+        LeaveRequestStatus previousStatus = existingLeaveRequest.getStatus();
+        LeaveUsageKey previousUsage = LeaveUsageKey.of(existingLeaveRequest);
         existingLeaveRequest.setStatus(status);
-        return leaveRequestRepository.save(existingLeaveRequest);
+        if (status != LeaveRequestStatus.APPROVED) {
+            LeaveRequest savedLeaveRequest = leaveRequestRepository.save(existingLeaveRequest);
+            leaveUsageService.changed(previousUsage, savedLeaveRequest.getTotalLeaveDays(), savedLeaveRequest);
+            outboxService.leaveStatusChanged(savedLeaveRequest, previousStatus);
+            return savedLeaveRequest;
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate hireDate = employee.getHireDate();
+        if (DateHelper.getDaysBetween(hireDate, today) == 0 && existingLeaveRequest.getTotalLeaveDays() > 5) {
+            throw rejected(LeaveValidationFailure.NEW_HIRE_LIMIT, "Newly hired employees can only take 5 days of leave in advance.");
+        }
+        // This validation can be removed due to business needs. But keeping it and directing managers to approve or
+        // reject leave requests on time is a better practice
+        if (existingLeaveRequest.getStartDate().isBefore(today)) {
+            throw rejected(LeaveValidationFailure.PAST_DATE, "Cannot approve a leave request for a past date.");
+        }
+        if (existingLeaveRequest.getTotalLeaveDays() > employee.getRemainingLeaveDays()) {
+            throw rejected(LeaveValidationFailure.INSUFFICIENT_BALANCE, "Cannot approve a leave request exceeding the remaining leave days of the employee.");
+        }
+        LeaveRequest savedLeaveRequest = leaveRequestRepository.saveAndFlush(existingLeaveRequest);
+
+        int leaveDays = workingDayCalendar.countWorkingDays(existingLeaveRequest.getStartDate(), existingLeaveRequest.getEndDate());
+        if (employeeRepository.debitRemainingLeaveDays(employee.getId(), leaveDays) == 0) {
+            throw rejected(LeaveValidationFailure.INSUFFICIENT_BALANCE, "Cannot approve a leave request exceeding the remaining leave days of the employee.");
+        }
+        Employee debitedEmployee = employeeRepository.findById(employee.getId())
+                .orElseThrow(() -> new EmployeeNotFoundException("Employee not found"));
+        savedLeaveRequest.setEmployee(debitedEmployee);
+        leaveLedgerService.append(debitedEmployee, LedgerEntryType.DEBIT, -leaveDays, savedLeaveRequest.getId());
+        leaveUsageService.changed(previousUsage, savedLeaveRequest.getTotalLeaveDays(), savedLeaveRequest);
+        outboxService.leaveStatusChanged(savedLeaveRequest, previousStatus);
+        return savedLeaveRequest;
+    }
+
+    /**
+     * Counts the failure under {@code leave.requests.rejected} and returns the exception to throw.
+     */
+    private InvalidLeaveRequestException rejected(LeaveValidationFailure reason, String message) {
+        meterRegistry.counter("leave.requests.rejected", "reason", reason.name()).increment();
+        return new InvalidLeaveRequestException(reason, message);
+    }
+
+    private static boolean overlaps(LeaveRequest leaveRequest, LocalDate startDate, LocalDate endDate) {
+        return !leaveRequest.getStartDate().isAfter(endDate) && !startDate.isAfter(leaveRequest.getEndDate());
+    }
+
+    /**
+     * Runs a save and reports a hit on the PostgreSQL exclusion constraint as the same overlap error the service
+     * check raises, which is what a concurrent insert that slipped past the check runs into.
+     */
+    private <T> T saveChecked(Supplier<T> save) {
+        try {
+            return save.get();
+        } catch (DataIntegrityViolationException e) {
+            String cause = String.valueOf(e.getMostSpecificCause().getMessage());
+            if (cause.contains(OverlapConstraintInitializer.CONSTRAINT_NAME)) {
+                throw rejected(LeaveValidationFailure.OVERLAP, OVERLAP_MESSAGE);
+            }
+            throw e;
+        }
     }
 
     public void deleteLeaveRequest(Long id) {
         LeaveRequest existingLeaveRequest = leaveRequestRepository.findById(id)
                 .orElseThrow(() -> new LeaveRequestNotFoundException("Leave request not found"));
 
-        leaveRequestRepository.delete(existingLeaveRequest);
+        transactionTemplate.executeWithoutResult(status -> {
+            leaveRequestRepository.delete(existingLeaveRequest);
+            leaveUsageService.removed(List.of(existingLeaveRequest));
+        });
+        availabilityService.remove(List.of(id));
     }
 
 
@@ -0,0 +1,124 @@
+package com.example.employeeapi.service;
+
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.entity.LeaveUsageKey;
+import com.example.employeeapi.model.LeaveUsageDto;
+import com.example.employeeapi.repository.LeaveUsageSummaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps leave usage per (start month, reason, status) in {@code leave_usage_summaries}, so reports read at most
+ * one row per bucket however many leave requests exist.
+ * <p>
+ * {@link LeaveRequestService} and {@link EmployeeService} apply each change as a delta inside the transaction that
+ * writes the leave request, so the summary commits or rolls back with it. A delta is one conditional update of the
+ * bucket row; the row is created with an {@code on conflict do nothing} insert the first time a bucket is used.
+ * <p>
+ * The price is contention: every write to a bucket updates the same (year, month, reason, status) row, so
+ * concurrent transactions creating or changing leave requests that start in the same month with the same reason
+ * and status queue on that row's lock until the first one commits. Leave requests carry a reason and status by the
+ * time they are counted; {@link LeaveRequestService} rejects new ones without a reason.
+ * {@link #rebuild()} recomputes the table from {@code leave_requests} for repair, and {@link #seedIfEmpty()} fills it
+ * on startup when it has never been filled, so deltas of leave requests created before it existed do not go negative.
+ */
+@Service
+public class LeaveUsageService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveUsageService.class);
+
+    private final LeaveUsageSummaryRepository leaveUsageSummaryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public LeaveUsageService(LeaveUsageSummaryRepository leaveUsageSummaryRepository, TransactionTemplate transactionTemplate) {
+        this.leaveUsageSummaryRepository = leaveUsageSummaryRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public List<LeaveUsageDto> getUsage(int year) {
+        return leaveUsageSummaryRepository.findUsageByYear(year);
+    }
+
+    public void added(Collection<LeaveRequest> leaveRequests) {
+        apply(leaveRequests, 1);
+    }
+
+    public void removed(Collection<LeaveRequest> leaveRequests) {
+        apply(leaveRequests, -1);
+    }
+
+    /**
+     * Moves a leave request that was counted under {@code previousKey} with {@code previousDays} to wherever it
+     * belongs now. Nothing is written when neither changed.
+     */
+    public void changed(LeaveUsageKey previousKey, int previousDays, LeaveRequest leaveRequest) {
+        LeaveUsageKey key = LeaveUsageKey.of(leaveRequest);
+        if (key.equals(previousKey)) {
+            if (previousDays != leaveRequest.getTotalLeaveDays()) {
+                adjust(key, 0, leaveRequest.getTotalLeaveDays() - previousDays);
+            }
+            return;
+        }
+        adjust(previousKey, -1, -previousDays);
+        adjust(key, 1, leaveRequest.getTotalLeaveDays());
+    }
+
+    /**
+     * Replaces the summaries with totals recomputed from every leave request, in one transaction. Changes committed
+     * by other transactions while it runs may be counted twice or not at all, so run it when writes are quiet.
+     */
+    public int rebuild() {
+        long startNanos = System.nanoTime();
+        Integer rows = transactionTemplate.execute(status -> {
+            leaveUsageSummaryRepository.deleteAllInBatch();
+            return leaveUsageSummaryRepository.insertFromLeaveRequests();
+        });
+        log.info("Rebuilt leave usage summaries: {} rows in {} ms", rows, (System.nanoTime() - startNanos) / 1_000_000);
+        return rows;
+    }
+
+    /**
+     * Fills the summaries from {@code leave_requests} if the table is empty, as it is on a database that had leave
+     * requests before the table existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedIfEmpty() {
+        Integer rows = transactionTemplate.execute(status -> leaveUsageSummaryRepository.count() == 0
+                ? leaveUsageSummaryRepository.insertFromLeaveRequests()
+                : 0);
+        if (rows != null && rows > 0) {
+            log.info("Seeded leave usage summaries from existing leave requests: {} rows", rows);
+        }
+    }
+
+    // one update per bucket, however many of the leave requests fall into it
+    private void apply(Collection<LeaveRequest> leaveRequests, int sign) {
+        Map<LeaveUsageKey, long[]> deltas = new HashMap<>();
+        for (LeaveRequest leaveRequest : leaveRequests) {
+            long[] delta = deltas.computeIfAbsent(LeaveUsageKey.of(leaveRequest), key -> new long[2]);
+            delta[0] += sign;
+            delta[1] += (long) sign * leaveRequest.getTotalLeaveDays();
+        }
+        deltas.forEach((key, delta) -> adjust(key, delta[0], delta[1]));
+    }
+
+    private void adjust(LeaveUsageKey key, long count, long days) {
+        String reason = key.getReason().name();
+        String status = key.getStatus().name();
+        if (leaveUsageSummaryRepository.addUsage(key.getYear(), key.getMonth(), reason, status, count, days) == 0) {
+            leaveUsageSummaryRepository.insertIfAbsent(key.getYear(), key.getMonth(), reason, status);
+            leaveUsageSummaryRepository.addUsage(key.getYear(), key.getMonth(), reason, status, count, days);
+        }
+    }
+}
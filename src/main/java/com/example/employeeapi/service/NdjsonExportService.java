@@ -0,0 +1,73 @@
+package com.example.employeeapi.service;
+
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.repository.LeaveRequestRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes whole tables as newline-delimited JSON. Rows are pulled from a database cursor inside a read-only
+ * transaction as DTO projections rather than entities, so nothing is registered in the persistence context and
+ * memory use does not grow with the table.
+ */
+@Service
+public class NdjsonExportService {
+
+    private final EmployeeRepository employeeRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ObjectWriter objectWriter;
+
+    @Autowired
+    public NdjsonExportService(EmployeeRepository employeeRepository,
+                               LeaveRequestRepository leaveRequestRepository,
+                               PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper) {
+        this.employeeRepository = employeeRepository;
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.objectWriter = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public long exportEmployees(OutputStream outputStream) {
+        return export(employeeRepository::streamAllForExport, outputStream);
+    }
+
+    public long exportLeaveRequests(OutputStream outputStream) {
+        return export(leaveRequestRepository::streamAllForExport, outputStream);
+    }
+
+    private <T> long export(Supplier<Stream<T>> source, OutputStream outputStream) {
+        return readOnlyTransactionTemplate.execute(status -> {
+            BufferedOutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+            long count = 0;
+            try (Stream<T> rows = source.get()) {
+                for (T row : (Iterable<T>) rows::iterator) {
+                    objectWriter.writeValue(out, row);
+                    out.write('\n');
+                    count++;
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return count;
+        });
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.employeeapi.service;
+
+import com.example.employeeapi.entity.OutboxEvent;
+import com.example.employeeapi.helper.OutboxSink;
+import com.example.employeeapi.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox into the configured {@link OutboxSink} in the background.
+ * <p>
+ * Due events are read in id order, {@code employee-api.outbox.batch-size} at a time, and spread over
+ * {@code employee-api.outbox.parallelism} lanes by leave request, so the events of one leave request are sent in
+ * order by one lane. Sent events are marked with one update per batch. A failed event is retried with exponential
+ * backoff from {@code employee-api.outbox.retry-backoff-ms} until {@code employee-api.outbox.max-attempts}, after
+ * which it is marked dead and stays in the table for inspection. Later events of the same leave request are held
+ * back until it has been sent, so each leave request's events arrive in the order they were written.
+ * <p>
+ * Sent events are deleted by {@link #purge()} once they are older than {@code employee-api.outbox.retention}, so the
+ * table, and the per-aggregate lookups of {@link OutboxEventRepository#findDue}, only grow with the backlog.
+ * <p>
+ * Metrics: {@code outbox.events} counts sent and failed deliveries, {@code outbox.dispatch.lag} times each event from
+ * commit to delivery, {@code outbox.pending} and {@code outbox.pending.age} describe the backlog still being retried
+ * after each drain, and {@code outbox.dead} counts events that gave up.
+ */
+@Service
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(30);
+    private static final int PURGE_CHUNK_SIZE = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int parallelism;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration retention;
+    private final ExecutorService lanes;
+
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Timer lagTimer;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+
+    @Autowired
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository, OutboxSink outboxSink,
+                            TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                            @Value("${employee-api.outbox.batch-size:100}") int batchSize,
+                            @Value("${employee-api.outbox.parallelism:4}") int parallelism,
+                            @Value("${employee-api.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${employee-api.outbox.retry-backoff-ms:1000}") long retryBackoffMillis,
+                            @Value("${employee-api.outbox.retention:P7D}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMillis);
+        this.retention = retention;
+        AtomicInteger laneNumber = new AtomicInteger();
+        this.lanes = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-" + laneNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.sentCounter = meterRegistry.counter("outbox.events", "result", "sent");
+        this.failedCounter = meterRegistry.counter("outbox.events", "result", "failed");
+        this.lagTimer = Timer.builder("outbox.dispatch.lag").publishPercentileHistogram().register(meterRegistry);
+        Gauge.builder("outbox.pending", pending, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("outbox.pending.age", oldestPendingAgeSeconds, AtomicLong::get).baseUnit("seconds").register(meterRegistry);
+        Gauge.builder("outbox.dead", dead, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * Sends every due event and returns how many were delivered.
+     */
+    @Scheduled(fixedDelayString = "${employee-api.outbox.poll-interval-ms:1000}",
+            initialDelayString = "${employee-api.outbox.poll-interval-ms:1000}")
+    public synchronized int drain() {
+        int sent = 0;
+        while (true) {
+            List<OutboxEvent> batch = outboxEventRepository.findDue(maxAttempts, Instant.now(), PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            sent += dispatch(batch);
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        refreshBacklog();
+        return sent;
+    }
+
+    private int dispatch(List<OutboxEvent> batch) {
+        List<List<OutboxEvent>> byLane = new ArrayList<>();
+        for (int i = 0; i < parallelism; i++) {
+            byLane.add(new ArrayList<>());
+        }
+        for (OutboxEvent event : batch) {
+            byLane.get(Math.floorMod(event.getAggregateId().hashCode(), parallelism)).add(event);
+        }
+
+        List<CompletableFuture<LaneResult>> results = byLane.stream()
+                .filter(events -> !events.isEmpty())
+                .map(events -> CompletableFuture.supplyAsync(() -> sendInOrder(events), lanes))
+                .toList();
+        Set<Long> sentIds = new HashSet<>();
+        List<OutboxEvent> failed = new ArrayList<>();
+        for (CompletableFuture<LaneResult> result : results) {
+            LaneResult lane = result.join();
+            sentIds.addAll(lane.sentIds);
+            failed.addAll(lane.failed);
+        }
+
+        Instant now = Instant.now();
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (!sentIds.isEmpty()) {
+                outboxEventRepository.markDispatched(sentIds, now);
+            }
+            outboxEventRepository.saveAll(failed);
+        });
+        for (OutboxEvent event : batch) {
+            if (sentIds.contains(event.getId())) {
+                lagTimer.record(Duration.between(event.getCreatedAt(), now));
+            }
+        }
+        sentCounter.increment(sentIds.size());
+        failedCounter.increment(failed.size());
+        return sentIds.size();
+    }
+
+    private LaneResult sendInOrder(List<OutboxEvent> events) {
+        LaneResult result = new LaneResult();
+        Set<Long> blocked = new HashSet<>();
+        for (OutboxEvent event : events) {
+            if (blocked.contains(event.getAggregateId())) {
+                continue;
+            }
+            try {
+                outboxSink.send(event);
+                result.sentIds.add(event.getId());
+            } catch (Exception e) {
+                blocked.add(event.getAggregateId());
+                result.failed.add(scheduleRetry(event, e));
+            }
+        }
+        return result;
+    }
+
+    private OutboxEvent scheduleRetry(OutboxEvent event, Exception e) {
+        int attempts = event.getAttempts() + 1;
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        event.setAttempts(attempts);
+        event.setNextAttemptAt(Instant.now().plus(backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff));
+        String message = String.valueOf(e.getMessage());
+        event.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+        if (attempts >= maxAttempts) {
+            event.setDeadAt(Instant.now());
+            log.error("Giving up on outbox event {} after {} attempts: {}", event.getId(), attempts, message);
+        } else {
+            log.warn("Outbox event {} failed on attempt {}, retrying: {}", event.getId(), attempts, message);
+        }
+        return event;
+    }
+
+    /**
+     * Deletes sent events older than the retention window, one chunk per transaction, and marks events that ran out
+     * of attempts under an earlier, higher {@code max-attempts} as dead. Returns how many events were deleted.
+     */
+    @Scheduled(fixedDelayString = "${employee-api.outbox.purge-interval-ms:3600000}",
+            initialDelayString = "${employee-api.outbox.purge-interval-ms:3600000}")
+    public synchronized long purge() {
+        Instant now = Instant.now();
+        transactionTemplate.executeWithoutResult(tx -> outboxEventRepository.markExhaustedDead(maxAttempts, now));
+        Instant cutoff = now.minus(retention);
+        long deleted = 0;
+        while (true) {
+            List<Long> ids = outboxEventRepository.findDispatchedBefore(cutoff, PageRequest.of(0, PURGE_CHUNK_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(tx -> outboxEventRepository.deleteAllByIdInBatch(ids));
+            deleted += ids.size();
+            if (ids.size() < PURGE_CHUNK_SIZE) {
+                break;
+            }
+        }
+        refreshBacklog();
+        if (deleted > 0) {
+            log.info("Purged {} outbox events sent before {}", deleted, cutoff);
+        }
+        return deleted;
+    }
+
+    private void refreshBacklog() {
+        pending.set(outboxEventRepository.countByDispatchedAtIsNullAndDeadAtIsNull());
+        dead.set(outboxEventRepository.countByDeadAtIsNotNull());
+        oldestPendingAgeSeconds.set(outboxEventRepository.findOldestPendingCreatedAt()
+                .map(createdAt -> Duration.between(createdAt, Instant.now()).toSeconds())
+                .orElse(0L));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lanes.shutdown();
+    }
+
+    private static final class LaneResult {
+        private final List<Long> sentIds = new ArrayList<>();
+        private final List<OutboxEvent> failed = new ArrayList<>();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.employeeapi.service;
+
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.entity.OutboxEvent;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.model.LeaveStatusChangedEvent;
+import com.example.employeeapi.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+/**
+ * Records events in the outbox table. Call from inside the transaction that makes the change, so the event is
+ * stored if and only if the change commits; {@link OutboxDispatcher} delivers it afterwards.
+ */
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public OutboxEvent leaveStatusChanged(LeaveRequest leaveRequest, LeaveRequestStatus previousStatus) {
+        Instant now = Instant.now();
+        LeaveStatusChangedEvent event = LeaveStatusChangedEvent.builder()
+                .leaveRequestId(leaveRequest.getId())
+                .employeeId(leaveRequest.getEmployee().getId())
+                .previousStatus(previousStatus)
+                .status(leaveRequest.getStatus())
+                .startDate(leaveRequest.getStartDate())
+                .endDate(leaveRequest.getEndDate())
+                .totalLeaveDays(leaveRequest.getTotalLeaveDays())
+                .occurredAt(now)
+                .build();
+        return outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(LeaveStatusChangedEvent.TYPE)
+                .aggregateId(leaveRequest.getId())
+                .payload(toJson(event))
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build());
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox event", e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.model.LeaveRequestDto;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "employee-api.admission.enabled=true",
+        "employee-api.admission.rate-per-second=0.01",
+        "employee-api.admission.burst=2",
+        "employee-api.admission.client-header=X-Client-Id"})
+public class AdmissionControlTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Employee employee;
+
+    @Before
+    public void setUp() {
+        employee = employeeRepository.save(Employee.builder()
+                .name("John Doe")
+                .hireDate(LocalDate.of(2015, 1, 1))
+                .remainingLeaveDays(10)
+                .build());
+    }
+
+    @After
+    public void tearDown() {
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testWritesOverRateAreRejectedPerClient() {
+        double rateLimitedBefore = meterRegistry.counter("admission.requests", "outcome", "RATE_LIMITED").count();
+
+        assertEquals(HttpStatus.BAD_REQUEST, post("hr-sync").getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, post("hr-sync").getStatusCode());
+        ResponseEntity<JsonNode> rejected = post("hr-sync");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getStatusCode());
+        assertEquals("RATE_LIMITED", rejected.getBody().get("code").asText());
+        assertTrue(Long.parseLong(rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)) > 0);
+        assertEquals(rateLimitedBefore + 1,
+                meterRegistry.counter("admission.requests", "outcome", "RATE_LIMITED").count(), 0);
+
+        assertEquals(HttpStatus.BAD_REQUEST, post("portal").getStatusCode());
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity("/employee/" + employee.getId(), JsonNode.class).getStatusCode());
+    }
+
+    // a past date is rejected by validation, so the request is admitted but writes nothing
+    private ResponseEntity<JsonNode> post(String client) {
+        LeaveRequestDto pastLeave = LeaveRequestDto.builder()
+                .employeeId(employee.getId())
+                .startDate(LocalDate.now().minusDays(3))
+                .endDate(LocalDate.now().minusDays(1))
+                .reason(LeaveRequestReason.VACATION)
+                .build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Client-Id", client);
+        return restTemplate.exchange("/leaveRequest", HttpMethod.POST, new HttpEntity<>(pastLeave, headers), JsonNode.class);
+    }
+}
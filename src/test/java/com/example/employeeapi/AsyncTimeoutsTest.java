@@ -0,0 +1,38 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.helper.AsyncTimeouts;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+
+public class AsyncTimeoutsTest {
+
+    @Test
+    public void testOverridesTimeoutOfThatRequestOnly() throws Exception {
+        MockHttpServletRequest export = new MockHttpServletRequest("GET", "/employee/export");
+        MockHttpServletRequest other = new MockHttpServletRequest("GET", "/employee/export");
+
+        AsyncTimeouts.set(export, Duration.ofMinutes(10));
+
+        assertEquals(600_000, startAsync(export));
+        assertEquals(30_000, startAsync(other));
+    }
+
+    // starts async processing the way Spring MVC does, with the global timeout set on the async request
+    private static long startAsync(MockHttpServletRequest request) throws Exception {
+        request.setAsyncSupported(true);
+        StandardServletAsyncWebRequest asyncWebRequest = new StandardServletAsyncWebRequest(request, new MockHttpServletResponse());
+        asyncWebRequest.setTimeout(30_000L);
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(asyncWebRequest);
+        asyncManager.startCallableProcessing(() -> null);
+        return request.getAsyncContext().getTimeout();
+    }
+}
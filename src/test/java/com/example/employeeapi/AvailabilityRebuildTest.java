@@ -0,0 +1,64 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.model.AbsenceDto;
+import com.example.employeeapi.repository.LeaveRequestRepository;
+import com.example.employeeapi.service.AvailabilityService;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AvailabilityRebuildTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    private final LeaveRequestRepository leaveRequestRepository = mock(LeaveRequestRepository.class);
+    private final AvailabilityService availabilityService = new AvailabilityService(leaveRequestRepository);
+
+    @Test
+    public void testChangesRecordedDuringRebuildQueryAreKept() {
+        AbsenceDto inSnapshot = absence(1L);
+        LeaveRequest approvedDuringQuery = leaveRequest(2L, LeaveRequestStatus.APPROVED);
+        LeaveRequest rejectedDuringQuery = leaveRequest(3L, LeaveRequestStatus.REJECTED);
+        when(leaveRequestRepository.findAbsencesByStatus(LeaveRequestStatus.APPROVED)).thenAnswer(invocation -> {
+            // both commit after the query took its snapshot, which still shows request 3 as approved
+            availabilityService.record(approvedDuringQuery);
+            availabilityService.record(rejectedDuringQuery);
+            return List.of(inSnapshot, absence(3L));
+        });
+
+        availabilityService.rebuild();
+
+        List<Long> off = availabilityService.whoIsOff(MONDAY, MONDAY).stream().map(AbsenceDto::getLeaveRequestId).toList();
+        assertEquals(List.of(1L, 2L), off.stream().sorted().toList());
+    }
+
+    private static AbsenceDto absence(Long id) {
+        return AbsenceDto.builder()
+                .leaveRequestId(id)
+                .employeeId(id)
+                .startDate(MONDAY)
+                .endDate(MONDAY.plusDays(2))
+                .reason(LeaveRequestReason.VACATION)
+                .build();
+    }
+
+    private static LeaveRequest leaveRequest(Long id, LeaveRequestStatus status) {
+        return LeaveRequest.builder()
+                .id(id)
+                .employee(Employee.builder().id(id).build())
+                .startDate(MONDAY)
+                .endDate(MONDAY.plusDays(2))
+                .status(status)
+                .reason(LeaveRequestReason.VACATION)
+                .build();
+    }
+}
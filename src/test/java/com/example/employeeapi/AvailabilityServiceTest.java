@@ -0,0 +1,143 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.exception.InvalidDateException;
+import com.example.employeeapi.model.AbsenceDto;
+import com.example.employeeapi.model.LeaveRequestDto;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.repository.LeaveRequestRepository;
+import com.example.employeeapi.service.AvailabilityService;
+import com.example.employeeapi.service.LeaveRequestService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class AvailabilityServiceTest {
+
+    private static final LocalDate BASE = LocalDate.now().plusYears(1);
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Random random = new Random(11);
+    private final List<Employee> employees = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < 50; i++) {
+            employees.add(employeeRepository.save(Employee.builder()
+                    .name("Employee " + i)
+                    .hireDate(LocalDate.of(2015, 1, 1))
+                    .remainingLeaveDays(1_000)
+                    .build()));
+        }
+        List<LeaveRequest> leaveRequests = new ArrayList<>();
+        for (Employee employee : employees) {
+            LocalDate start = BASE;
+            for (int i = 0; i < 20; i++) {
+                start = start.plusDays(1 + random.nextInt(20));
+                LocalDate end = start.plusDays(random.nextInt(10));
+                leaveRequests.add(LeaveRequest.builder()
+                        .employee(employee)
+                        .startDate(start)
+                        .endDate(end)
+                        .totalLeaveDays(1)
+                        .status(LeaveRequestStatus.values()[random.nextInt(LeaveRequestStatus.values().length)])
+                        .reason(LeaveRequestReason.VACATION)
+                        .build());
+                start = end;
+            }
+        }
+        leaveRequestRepository.saveAll(leaveRequests);
+        availabilityService.rebuild();
+    }
+
+    @After
+    public void tearDown() {
+        leaveRequestRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+        availabilityService.rebuild();
+    }
+
+    @Test
+    public void testIndexMatchesDatabaseAfterRebuild() {
+        assertRandomWindowsMatchDatabase();
+    }
+
+    @Test
+    public void testIndexFollowsApprovalsUpdatesAndDeletes() {
+        List<LeaveRequest> waiting = leaveRequestRepository.findAll().stream()
+                .filter(leaveRequest -> leaveRequest.getStatus() == LeaveRequestStatus.WAITING_FOR_APPROVAL)
+                .limit(20)
+                .toList();
+        for (LeaveRequest leaveRequest : waiting.subList(0, 10)) {
+            leaveRequestService.updateLeaveRequestStatus(leaveRequest.getId(), LeaveRequestStatus.APPROVED);
+        }
+        for (LeaveRequest leaveRequest : waiting.subList(10, 20)) {
+            leaveRequestService.deleteLeaveRequest(leaveRequest.getId());
+        }
+        LeaveRequest approved = leaveRequestRepository.findAll().stream()
+                .filter(leaveRequest -> leaveRequest.getStatus() == LeaveRequestStatus.APPROVED)
+                .findFirst()
+                .orElseThrow();
+        LeaveRequestDto reason = new LeaveRequestDto();
+        reason.setReason(LeaveRequestReason.SICKNESS);
+        leaveRequestService.updateLeaveRequest(approved.getId(), reason);
+
+        assertRandomWindowsMatchDatabase();
+        assertEquals(LeaveRequestReason.SICKNESS, availabilityService.whoIsOff(approved.getStartDate(), approved.getStartDate()).stream()
+                .filter(absence -> absence.getLeaveRequestId().equals(approved.getId()))
+                .findFirst()
+                .orElseThrow()
+                .getReason());
+    }
+
+    @Test
+    public void testReversedRangeIsRejected() {
+        assertThrows(InvalidDateException.class, () -> availabilityService.whoIsOff(BASE.plusDays(1), BASE));
+    }
+
+    private void assertRandomWindowsMatchDatabase() {
+        for (int i = 0; i < 200; i++) {
+            LocalDate from = BASE.plusDays(random.nextInt(400));
+            LocalDate to = from.plusDays(random.nextInt(30));
+            List<Long> expected = jdbcTemplate.queryForList("select id from leave_requests where status = 'APPROVED' "
+                    + "and start_date <= ? and end_date >= ? order by id", Long.class, to, from);
+            List<Long> actual = availabilityService.whoIsOff(from, to).stream()
+                    .map(AbsenceDto::getLeaveRequestId)
+                    .sorted()
+                    .toList();
+            assertEquals(expected, actual);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.helper.DateHelper;
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class DateHelperTest {
+
+    private static final LocalDate FIRST = LocalDate.of(1990, 1, 1);
+    private static final LocalDate LAST = LocalDate.of(2040, 12, 31);
+
+    @Test
+    public void testIsWeekendMatchesDayOfWeek() {
+        for (LocalDate date = FIRST; !date.isAfter(LAST); date = date.plusDays(1)) {
+            DayOfWeek dayOfWeek = date.getDayOfWeek();
+            boolean weekend = dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+            assertEquals(date.toString(), weekend, DateHelper.isWeekend(date));
+        }
+    }
+
+    @Test
+    public void testCalculateLeaveDaysMatchesLoopForShortSpans() {
+        for (LocalDate start = FIRST; !start.isAfter(LAST); start = start.plusDays(1)) {
+            for (int span = -3; span <= 45; span++) {
+                LocalDate end = start.plusDays(span);
+                assertEquals(start + ".." + end, legacyLeaveDays(start, end), DateHelper.calculateLeaveDays(start, end));
+            }
+        }
+    }
+
+    @Test
+    public void testCalculateLeaveDaysMatchesLoopForLongSpans() {
+        for (LocalDate start = FIRST; !start.isAfter(LAST); start = start.plusDays(97)) {
+            for (int span = 46; span <= 3_700; span += 11) {
+                LocalDate end = start.plusDays(span);
+                assertEquals(start + ".." + end, legacyLeaveDays(start, end), DateHelper.calculateLeaveDays(start, end));
+            }
+        }
+        assertEquals(legacyLeaveDays(FIRST, LAST), DateHelper.calculateLeaveDays(FIRST, LAST));
+    }
+
+    @Test
+    public void testGetDaysBetweenMatchesChronoUnit() {
+        for (LocalDate start = FIRST; !start.isAfter(LAST); start = start.plusDays(13)) {
+            for (int span = -10; span <= 400; span += 7) {
+                LocalDate end = start.plusDays(span);
+                assertEquals((int) ChronoUnit.DAYS.between(start, end) + 1, DateHelper.getDaysBetween(start, end));
+            }
+        }
+    }
+
+    // The day-by-day implementation DateHelper.calculateLeaveDays used to have
+    private static int legacyLeaveDays(LocalDate startDate, LocalDate endDate) {
+        int leaveDays = 1;
+        for (LocalDate date = startDate; date.isBefore(endDate); date = date.plusDays(1)) {
+            DayOfWeek dayOfWeek = date.getDayOfWeek();
+            if (dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY) {
+                leaveDays++;
+            }
+        }
+        return leaveDays;
+    }
+}
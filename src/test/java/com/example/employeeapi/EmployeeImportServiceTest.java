@@ -0,0 +1,89 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.helper.DateHelper;
+import com.example.employeeapi.model.EmployeeImportSummary;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.service.EmployeeImportService;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "employee-api.import.batch-size=200")
+public class EmployeeImportServiceTest {
+
+    private static final int ROW_COUNT = 20_000;
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @After
+    public void tearDown() {
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testImportInsertsEveryValidRow() {
+        StringBuilder csv = new StringBuilder("name,hire_date\n");
+        LocalDate firstHireDate = LocalDate.of(2005, 1, 1);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            csv.append("\"Imported, Employee ").append(i).append("\",").append(firstHireDate.plusDays(i % 6000)).append('\n');
+        }
+
+        EmployeeImportSummary summary = employeeImportService.importCsv(stream(csv.toString()));
+
+        assertEquals(ROW_COUNT, summary.getImportedEmployees());
+        assertEquals(0, summary.getRejectedRows());
+        assertEquals(ROW_COUNT / 200, summary.getBatches());
+        assertNull(summary.getRejectFile());
+        assertEquals(ROW_COUNT, employeeRepository.count());
+
+        Employee sample = employeeRepository.findAll().get(0);
+        assertTrue(sample.getName().startsWith("Imported, Employee "));
+        assertEquals(DateHelper.calculateRemainingDaysForNewRecord(sample.getHireDate()), sample.getRemainingLeaveDays().intValue());
+    }
+
+    @Test
+    public void testInvalidRowsGoToTheRejectFile() throws Exception {
+        String csv = "Alice,2015-03-01\n"
+                + "Bob,not-a-date\n"
+                + ",2015-03-01\n"
+                + "Carol,2015-03-01,extra\n"
+                + "Dave," + LocalDate.now().plusYears(1) + "\n"
+                + "\"Eve \"\"The Auditor\"\"\",2020-06-15\n";
+
+        EmployeeImportSummary summary = employeeImportService.importCsv(stream(csv));
+
+        assertEquals(2, summary.getImportedEmployees());
+        assertEquals(4, summary.getRejectedRows());
+        List<String> rejects = Files.readAllLines(Paths.get(summary.getRejectFile()));
+        assertEquals(5, rejects.size());
+        assertTrue(rejects.get(1).startsWith("2,\"Invalid hire date: not-a-date\""));
+        assertTrue(rejects.get(2).startsWith("3,\"Name is required\""));
+        assertTrue(rejects.get(3).startsWith("4,\"Expected 2 columns but found 3\""));
+        assertTrue(rejects.get(4).startsWith("5,\"Hire date is in the future\""));
+        assertTrue(employeeRepository.findAll().stream().anyMatch(employee -> employee.getName().equals("Eve \"The Auditor\"")));
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.model.EmployeeDto;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.repository.LeaveLedgerRepository;
+import com.example.employeeapi.repository.LeaveRequestRepository;
+import com.example.employeeapi.service.EmployeeLookupService;
+import com.example.employeeapi.service.EmployeeService;
+import com.example.employeeapi.service.LeaveRequestService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class EmployeeLookupServiceTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private EmployeeLookupService employeeLookupService;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private LeaveLedgerRepository leaveLedgerRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @SpyBean
+    private EmployeeRepository employeeRepository;
+
+    private Employee employee;
+
+    @Before
+    public void setUp() {
+        employeeLookupService.evictAll();
+        employee = employeeRepository.save(Employee.builder()
+                .name("Cached Employee")
+                .hireDate(LocalDate.now().minusYears(3))
+                .remainingLeaveDays(15)
+                .build());
+    }
+
+    @After
+    public void tearDown() {
+        leaveRequestRepository.deleteAllInBatch();
+        leaveLedgerRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testRepeatedLookupsAreServedFromCache() {
+        double hitsBefore = cacheGets("hit");
+
+        employeeService.getEmployeeById(employee.getId());
+        employeeService.getEmployeeById(employee.getId());
+        employeeService.getEmployeeById(employee.getId());
+
+        verify(employeeRepository, times(1)).findById(employee.getId());
+        assertEquals(2, cacheGets("hit") - hitsBefore, 0);
+    }
+
+    @Test
+    public void testUpdateEvictsTheCachedEmployee() {
+        employeeService.getEmployeeById(employee.getId());
+
+        employeeService.updateEmployee(employee.getId(), new EmployeeDto("Renamed Employee", null, null));
+
+        assertEquals("Renamed Employee", employeeService.getEmployeeById(employee.getId()).getName());
+    }
+
+    @Test
+    public void testApprovalEvictsTheCachedBalance() {
+        LocalDate monday = LocalDate.now().plusWeeks(2).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LeaveRequest leaveRequest = leaveRequestRepository.save(LeaveRequest.builder()
+                .employee(employee)
+                .startDate(monday)
+                .endDate(monday.plusDays(2))
+                .totalLeaveDays(3)
+                .status(LeaveRequestStatus.WAITING_FOR_APPROVAL)
+                .reason(LeaveRequestReason.VACATION)
+                .build());
+        employeeService.getEmployeeById(employee.getId());
+
+        leaveRequestService.updateLeaveRequestStatus(leaveRequest.getId(), LeaveRequestStatus.APPROVED);
+
+        assertEquals(12, employeeService.getEmployeeById(employee.getId()).getRemainingLeaveDays().intValue());
+    }
+
+    @Test
+    public void testAccrualEvictsOnlyTheEmployeesItChanges() {
+        Employee stale = employeeRepository.save(Employee.builder()
+                .name("Stale Employee")
+                .hireDate(LocalDate.now().minusYears(3))
+                .remainingLeaveDays(-1)
+                .build());
+        employeeService.getEmployeeById(employee.getId());
+        employeeService.getEmployeeById(stale.getId());
+
+        employeeService.updateRemainingLeave();
+
+        assertTrue(cacheManager.getCache(EmployeeLookupService.EMPLOYEE_CACHE).get(stale.getId()) == null);
+        assertTrue(cacheManager.getCache(EmployeeLookupService.EMPLOYEE_CACHE).get(employee.getId()) != null);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", EmployeeLookupService.EMPLOYEE_CACHE)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -8,7 +8,6 @@ import com.example.employeeapi.service.EmployeeService;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -27,15 +26,12 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
 
 @RunWith(SpringRunner.class)
-@SpringBootTest
+@SpringBootTest(properties = "spring.cache.type=none")
 public class EmployeeServiceTest {
 
     @Autowired
     private EmployeeService employeeService;
 
-    @Autowired
-    private ModelMapper modelMapper;
-
     @MockBean
     private EmployeeRepository employeeRepository;
 
@@ -90,8 +86,8 @@ public class EmployeeServiceTest {
     @Test
     public void testGetAllEmployees() {
         List<Employee> employees = Arrays.asList(
-                new Employee(1L, "John Doe", LocalDate.now(), 15),
-                new Employee(2L, "Jane Smith", LocalDate.now(), 18)
+                new Employee(1L, "John Doe", LocalDate.now(), 15, 0L),
+                new Employee(2L, "Jane Smith", LocalDate.now(), 18, 0L)
         );
         when(employeeRepository.findAll()).thenReturn(employees);
 
@@ -104,7 +100,7 @@ public class EmployeeServiceTest {
 
     @Test
     public void testGetEmployeeById() {
-        when(employeeRepository.findById(1L)).thenReturn(Optional.of(new Employee(1L, "John Doe", LocalDate.now(), 15)));
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(new Employee(1L, "John Doe", LocalDate.now(), 15, 0L)));
 
         Employee employeeDto = employeeService.getEmployeeById(1L);
 
@@ -120,14 +116,14 @@ public class EmployeeServiceTest {
 
     @Test
     public void whenUpdateEmployee_thenReturnUpdatedEmployee() {
-        when(employeeService.createEmployee(employeeDto)).thenReturn(employee);
         doReturn(employee).when(employeeRepository).save(any(Employee.class));
+        when(employeeService.createEmployee(employeeDto)).thenReturn(employee);
         Employee createdEmployee = employeeService.createEmployee(employeeDto);
 
         EmployeeDto updatedEmployeeDto = new EmployeeDto("Jane Doe", LocalDate.now(), 0);
         when(employeeRepository.findById(createdEmployee.getId())).thenReturn(Optional.of(createdEmployee));
 
-        Employee updatedEmployee = employeeService.updateEmployee(createdEmployee.getId(), modelMapper.map(updatedEmployeeDto, EmployeeDto.class));
+        Employee updatedEmployee = employeeService.updateEmployee(createdEmployee.getId(), updatedEmployeeDto);
 
         assertEquals(updatedEmployee.getName(), updatedEmployeeDto.getName());
         assertEquals(updatedEmployee.getHireDate(), updatedEmployeeDto.getHireDate());
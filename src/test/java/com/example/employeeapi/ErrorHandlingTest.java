@@ -0,0 +1,208 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.controller.ApiExceptionHandler;
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.exception.EmployeeImportException;
+import com.example.employeeapi.exception.EmployeeNotFoundException;
+import com.example.employeeapi.exception.InvalidLeaveRequestException;
+import com.example.employeeapi.model.ApiError;
+import com.example.employeeapi.model.LeaveRequestDto;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.repository.LeaveRequestRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ErrorHandlingTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    private Employee employee;
+
+    @Before
+    public void setUp() {
+        employee = employeeRepository.save(Employee.builder()
+                .name("John Doe")
+                .hireDate(LocalDate.of(2015, 1, 1))
+                .remainingLeaveDays(10)
+                .build());
+    }
+
+    @After
+    public void tearDown() {
+        leaveRequestRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testMissingEmployeeIsNotFound() {
+        ResponseEntity<JsonNode> response = restTemplate.getForEntity("/employee/" + (employee.getId() + 1000), JsonNode.class);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(404, response.getBody().get("status").asInt());
+        assertEquals("EMPLOYEE_NOT_FOUND", response.getBody().get("code").asText());
+        assertEquals("Employee not found", response.getBody().get("message").asText());
+        assertEquals("/employee/" + (employee.getId() + 1000), response.getBody().get("path").asText());
+    }
+
+    @Test
+    public void testPastLeaveRequestIsBadRequestWithReason() {
+        LeaveRequestDto pastLeave = LeaveRequestDto.builder()
+                .employeeId(employee.getId())
+                .startDate(LocalDate.now().minusDays(3))
+                .endDate(LocalDate.now().minusDays(1))
+                .reason(LeaveRequestReason.VACATION)
+                .build();
+
+        ResponseEntity<JsonNode> response = restTemplate.postForEntity("/leaveRequest", pastLeave, JsonNode.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("PAST_DATE", response.getBody().get("code").asText());
+    }
+
+    @Test
+    public void testLeaveRequestOutsideCalendarIsBadRequest() {
+        LeaveRequestDto farFuture = LeaveRequestDto.builder()
+                .employeeId(employee.getId())
+                .startDate(LocalDate.now().plusDays(7))
+                .endDate(LocalDate.of(9999, 12, 31))
+                .reason(LeaveRequestReason.VACATION)
+                .build();
+
+        ResponseEntity<JsonNode> response = restTemplate.postForEntity("/leaveRequest", farFuture, JsonNode.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("DATE_OUT_OF_RANGE", response.getBody().get("code").asText());
+    }
+
+    @Test
+    public void testLeaveRequestWithoutReasonIsBadRequest() {
+        LeaveRequestDto noReason = LeaveRequestDto.builder()
+                .employeeId(employee.getId())
+                .startDate(LocalDate.now().plusDays(7))
+                .endDate(LocalDate.now().plusDays(8))
+                .build();
+
+        ResponseEntity<JsonNode> response = restTemplate.postForEntity("/leaveRequest", noReason, JsonNode.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("MISSING_REASON", response.getBody().get("code").asText());
+        assertEquals(0, leaveRequestRepository.count());
+    }
+
+    @Test
+    public void testChangingApprovedLeaveRequestIsConflict() {
+        LeaveRequest approved = leaveRequestRepository.save(LeaveRequest.builder()
+                .employee(employee)
+                .startDate(LocalDate.of(2030, 1, 7))
+                .endDate(LocalDate.of(2030, 1, 9))
+                .totalLeaveDays(3)
+                .status(LeaveRequestStatus.APPROVED)
+                .reason(LeaveRequestReason.VACATION)
+                .build());
+
+        ResponseEntity<JsonNode> response = restTemplate.exchange("/leaveRequest/" + approved.getId() + "/status",
+                HttpMethod.PUT, new HttpEntity<>(LeaveRequestStatus.REJECTED), JsonNode.class);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("ALREADY_APPROVED", response.getBody().get("code").asText());
+    }
+
+    @Test
+    public void testInvalidCursorIsBadRequest() {
+        ResponseEntity<JsonNode> response = restTemplate.getForEntity("/employee?cursor=not-a-cursor", JsonNode.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("INVALID_CURSOR", response.getBody().get("code").asText());
+    }
+
+    @Test
+    public void testMalformedBodyIsBadRequest() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        ResponseEntity<JsonNode> response = restTemplate.postForEntity("/leaveRequest",
+                new HttpEntity<>("{\"employeeId\": ", headers), JsonNode.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("HTTP_MESSAGE_NOT_READABLE", response.getBody().get("code").asText());
+        assertEquals("Request body is missing or malformed.", response.getBody().get("message").asText());
+    }
+
+    @Test
+    public void testMistypedParametersAreBadRequest() {
+        ResponseEntity<JsonNode> query = restTemplate.getForEntity("/employee?limit=many", JsonNode.class);
+        ResponseEntity<JsonNode> path = restTemplate.getForEntity("/employee/abc", JsonNode.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, query.getStatusCode());
+        assertEquals("METHOD_ARGUMENT_TYPE_MISMATCH", query.getBody().get("code").asText());
+        assertEquals("Value 'many' of 'limit' is not a valid int.", query.getBody().get("message").asText());
+        assertEquals(HttpStatus.BAD_REQUEST, path.getStatusCode());
+        assertEquals("METHOD_ARGUMENT_TYPE_MISMATCH", path.getBody().get("code").asText());
+    }
+
+    @Test
+    public void testMissingParameterIsBadRequest() {
+        ResponseEntity<JsonNode> response = restTemplate.getForEntity("/leaveRequest/absences?to=2030-01-31", JsonNode.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("MISSING_SERVLET_REQUEST_PARAMETER", response.getBody().get("code").asText());
+        assertEquals("Required parameter 'from' is missing.", response.getBody().get("message").asText());
+    }
+
+    @Test
+    public void testDomainExceptionsSkipStackTrace() {
+        assertEquals(0, new EmployeeNotFoundException("Employee not found").getStackTrace().length);
+        assertEquals(0, new InvalidLeaveRequestException("Invalid").getStackTrace().length);
+    }
+
+    @Test
+    public void testImportFailureIsBadRequestButBareIllegalArgumentIsInternalError() {
+        ApiExceptionHandler handler = new ApiExceptionHandler(20, Duration.ofMinutes(1));
+        ExceptionHandlerMethodResolver resolver = new ExceptionHandlerMethodResolver(ApiExceptionHandler.class);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/employee/import");
+
+        EmployeeImportException importFailure = new EmployeeImportException("Unterminated quoted field");
+        ResponseEntity<ApiError> rejected = handler.handleDomain(importFailure, request);
+        IllegalArgumentException bug = new IllegalArgumentException("Interval end 2 is before start 5");
+        ResponseEntity<ApiError> failed = handler.handleOther(bug, request);
+
+        assertEquals("handleDomain", resolver.resolveMethod(importFailure).getName());
+        assertEquals(HttpStatus.BAD_REQUEST, rejected.getStatusCode());
+        assertEquals("EMPLOYEE_IMPORT", rejected.getBody().getCode());
+        assertEquals("handleOther", resolver.resolveMethod(bug).getName());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, failed.getStatusCode());
+        assertEquals("Unexpected error", failed.getBody().getMessage());
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.model.EmployeeDto;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.repository.LeaveRequestRepository;
+import com.example.employeeapi.service.EmployeeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "employee-api.outbox.poll-interval-ms=3600000"
+        })
+public class EtagTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Employee employee;
+    private LeaveRequest leaveRequest;
+
+    @Before
+    public void setUp() {
+        employee = employeeRepository.save(Employee.builder()
+                .name("John Doe")
+                .hireDate(LocalDate.of(2015, 1, 1))
+                .remainingLeaveDays(10)
+                .build());
+        leaveRequest = leaveRequestRepository.save(LeaveRequest.builder()
+                .employee(employee)
+                .startDate(LocalDate.of(2030, 1, 7))
+                .endDate(LocalDate.of(2030, 1, 9))
+                .totalLeaveDays(3)
+                .status(LeaveRequestStatus.WAITING_FOR_APPROVAL)
+                .reason(LeaveRequestReason.VACATION)
+                .build());
+    }
+
+    @After
+    public void tearDown() {
+        leaveRequestRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testEmployeeNotModifiedWithoutLoadingEntity() {
+        String url = "/employee/" + employee.getId();
+        ResponseEntity<String> first = get(url, null);
+        String etag = first.getHeaders().getETag();
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertNotNull(etag);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long loadsBefore = statistics.getEntityLoadCount();
+        ResponseEntity<String> second = get(url, etag);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        assertEquals(etag, second.getHeaders().getETag());
+        assertNull(second.getBody());
+        assertEquals(loadsBefore, statistics.getEntityLoadCount());
+
+        renameEmployee("Jane Doe");
+        ResponseEntity<String> third = get(url, etag);
+        assertEquals(HttpStatus.OK, third.getStatusCode());
+        assertNotEquals(etag, third.getHeaders().getETag());
+    }
+
+    @Test
+    public void testLeaveRequestEtagFollowsEmbeddedEmployee() {
+        String url = "/leaveRequest/" + leaveRequest.getId();
+        String etag = get(url, null).getHeaders().getETag();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, get(url, etag).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, get(url, "\"other\", " + etag).getStatusCode());
+
+        renameEmployee("Jane Doe");
+        assertEquals(HttpStatus.OK, get(url, etag).getStatusCode());
+    }
+
+    @Test
+    public void testListEtagsChangeWithAnyRowOnThePage() {
+        String employees = "/employee?limit=10";
+        String leaveRequests = "/leaveRequest?employeeId=" + employee.getId();
+        String employeesEtag = get(employees, null).getHeaders().getETag();
+        String leaveRequestsEtag = get(leaveRequests, null).getHeaders().getETag();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, get(employees, employeesEtag).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, get(leaveRequests, leaveRequestsEtag).getStatusCode());
+
+        renameEmployee("Jane Doe");
+        assertEquals(HttpStatus.OK, get(employees, employeesEtag).getStatusCode());
+        assertEquals(HttpStatus.OK, get(leaveRequests, leaveRequestsEtag).getStatusCode());
+    }
+
+    @Test
+    public void testListWithoutIfNoneMatchRunsOnlyThePageQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String employees = "/employee?limit=10";
+        String leaveRequests = "/leaveRequest?employeeId=" + employee.getId();
+
+        long queriesBefore = statistics.getPrepareStatementCount();
+        String employeesEtag = get(employees, null).getHeaders().getETag();
+        String leaveRequestsEtag = get(leaveRequests, null).getHeaders().getETag();
+        assertEquals(2, statistics.getPrepareStatementCount() - queriesBefore);
+
+        queriesBefore = statistics.getPrepareStatementCount();
+        assertEquals(HttpStatus.NOT_MODIFIED, get(employees, employeesEtag).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, get(leaveRequests, leaveRequestsEtag).getStatusCode());
+        assertEquals(2, statistics.getPrepareStatementCount() - queriesBefore);
+    }
+
+    @Test
+    public void testSingleResourceWithoutIfNoneMatchRunsNoVersionQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String employeeUrl = "/employee/" + employee.getId();
+        String leaveRequestUrl = "/leaveRequest/" + leaveRequest.getId();
+        get(employeeUrl, null);
+
+        long statementsBefore = statistics.getPrepareStatementCount();
+        String employeeEtag = get(employeeUrl, null).getHeaders().getETag();
+        assertEquals(0, statistics.getPrepareStatementCount() - statementsBefore);
+
+        statementsBefore = statistics.getPrepareStatementCount();
+        String leaveRequestEtag = get(leaveRequestUrl, null).getHeaders().getETag();
+        assertEquals(1, statistics.getPrepareStatementCount() - statementsBefore);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, get(employeeUrl, employeeEtag).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, get(leaveRequestUrl, leaveRequestEtag).getStatusCode());
+    }
+
+    private void renameEmployee(String name) {
+        employeeService.updateEmployee(employee.getId(), EmployeeDto.builder().name(name).build());
+    }
+
+    private ResponseEntity<String> get(String url, String ifNoneMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        if (ifNoneMatch != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.helper.IntervalTree;
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class IntervalTreeTest {
+
+    @Test
+    public void testOverlappingIncludesBothEnds() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.put(1, 10, 20, "a");
+        tree.put(2, 21, 25, "b");
+        tree.put(3, 5, 9, "c");
+
+        assertEquals(List.of("c", "a"), tree.overlapping(9, 10));
+        assertEquals(List.of("a", "b"), tree.overlapping(20, 21));
+        assertEquals(List.of(), tree.overlapping(26, 30));
+    }
+
+    @Test
+    public void testPutReplacesAndRemoveDrops() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.put(1, 10, 20, "a");
+        tree.put(1, 30, 40, "a'");
+
+        assertEquals(1, tree.size());
+        assertEquals(List.of(), tree.overlapping(10, 20));
+        assertEquals(List.of("a'"), tree.overlapping(35, 35));
+        assertTrue(tree.remove(1));
+        assertFalse(tree.remove(1));
+        assertEquals(0, tree.size());
+        assertThrows(IllegalArgumentException.class, () -> tree.put(2, 5, 4, "bad"));
+    }
+
+    @Test
+    public void testRandomOperationsMatchBruteForce() {
+        Random random = new Random(7);
+        IntervalTree<long[]> tree = new IntervalTree<>();
+        Map<Long, long[]> expected = new HashMap<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            long id = random.nextInt(2_000);
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(id) != null, tree.remove(id));
+            } else {
+                long start = random.nextInt(3_650);
+                long[] interval = {id, start, start + random.nextInt(30)};
+                tree.put(id, interval[1], interval[2], interval);
+                expected.put(id, interval);
+            }
+            if (i % 100 == 0) {
+                long from = random.nextInt(3_700);
+                long to = from + random.nextInt(60);
+                List<Long> actual = tree.overlapping(from, to).stream().map(interval -> interval[0]).sorted().toList();
+                List<Long> bruteForce = expected.values().stream()
+                        .filter(interval -> interval[1] <= to && from <= interval[2])
+                        .map(interval -> interval[0])
+                        .sorted(Comparator.naturalOrder())
+                        .toList();
+                assertEquals(bruteForce, actual);
+                assertEquals(expected.size(), tree.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.AccrualCheckpoint;
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveLedgerEntry;
+import com.example.employeeapi.enums.AccrualMode;
+import com.example.employeeapi.enums.LeaveEntitlementTier;
+import com.example.employeeapi.helper.DateHelper;
+import com.example.employeeapi.model.AccrualRunSummary;
+import com.example.employeeapi.repository.AccrualCheckpointRepository;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.repository.LeaveLedgerRepository;
+import com.example.employeeapi.service.EmployeeLookupService;
+import com.example.employeeapi.service.LeaveAccrualService;
+import com.example.employeeapi.service.LeaveLedgerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "employee-api.accrual.chunk-size=100")
+public class LeaveAccrualServiceTest {
+
+    private static final int EMPLOYEE_COUNT = 1_050;
+
+    @Autowired
+    private LeaveAccrualService leaveAccrualService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeLookupService employeeLookupService;
+
+    @Autowired
+    private LeaveLedgerService leaveLedgerService;
+
+    @Autowired
+    private LeaveLedgerRepository leaveLedgerRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AccrualCheckpointRepository checkpointRepository;
+
+    @Before
+    public void setUp() {
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEE_COUNT; i++) {
+            employees.add(Employee.builder()
+                    .name("Employee " + i)
+                    .hireDate(LocalDate.now().minusDays(random.nextInt(365 * 15)))
+                    .remainingLeaveDays(-1)
+                    .build());
+        }
+        employeeRepository.saveAll(employees);
+    }
+
+    @After
+    public void tearDown() {
+        leaveLedgerRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+        checkpointRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testRunProcessesAllEmployeesInChunks() {
+        AccrualRunSummary summary = leaveAccrualService.run();
+
+        assertEquals(EMPLOYEE_COUNT, summary.getProcessedEmployees());
+        assertEquals(11, summary.getChunks());
+        assertTrue(employeeRepository.findAll().stream().allMatch(employee -> employee.getRemainingLeaveDays() > 0));
+        assertTrue(checkpointRepository.findAll().get(0).isCompleted());
+    }
+
+    @Test
+    public void testRunResumesAfterLastCheckpointedEmployee() {
+        List<Employee> employees = employeeRepository.findAll(Sort.by("id"));
+        Long crashedAfterId = employees.get(499).getId();
+        checkpointRepository.save(AccrualCheckpoint.builder()
+                .jobName("leave-accrual")
+                .runDate(LocalDate.now())
+                .lastEmployeeId(crashedAfterId)
+                .processedCount(500L)
+                .completed(false)
+                .updatedAt(Instant.now())
+                .build());
+
+        AccrualRunSummary summary = leaveAccrualService.run();
+
+        assertEquals(crashedAfterId, summary.getResumedFromEmployeeId());
+        assertEquals(EMPLOYEE_COUNT - 500, summary.getProcessedEmployees());
+        for (Employee employee : employeeRepository.findAll()) {
+            boolean processed = employee.getId() > crashedAfterId;
+            assertEquals(processed, employee.getRemainingLeaveDays() > 0);
+        }
+        AccrualCheckpoint checkpoint = checkpointRepository.findAll().get(0);
+        assertTrue(checkpoint.isCompleted());
+        assertEquals(Long.valueOf(EMPLOYEE_COUNT), checkpoint.getProcessedCount());
+    }
+
+    @Test
+    public void testIncompleteRunOfAnEarlierDayIsResumedForThatDay() {
+        List<Employee> employees = employeeRepository.findAll(Sort.by("id"));
+        Long crashedAfterId = employees.get(299).getId();
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        checkpointRepository.save(AccrualCheckpoint.builder()
+                .jobName("leave-accrual")
+                .runDate(yesterday)
+                .lastEmployeeId(crashedAfterId)
+                .processedCount(300L)
+                .completed(false)
+                .updatedAt(Instant.now())
+                .build());
+
+        AccrualRunSummary summary = leaveAccrualService.resumeIncomplete().orElseThrow();
+
+        assertEquals(yesterday, summary.getRunDate());
+        assertEquals(crashedAfterId, summary.getResumedFromEmployeeId());
+        assertEquals(EMPLOYEE_COUNT - 300, summary.getProcessedEmployees());
+        assertTrue(checkpointRepository.findAll().get(0).isCompleted());
+        assertTrue(leaveAccrualService.resumeIncomplete().isEmpty());
+    }
+
+    @Test
+    public void testChunkThatLosesItsOptimisticCheckIsRetried() {
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        AtomicBoolean interfered = new AtomicBoolean();
+        Long renamedId = employeeRepository.findAll(Sort.by("id")).get(0).getId();
+        EmployeeRepository interfering = mock(EmployeeRepository.class, AdditionalAnswers.delegatesTo(employeeRepository));
+        doAnswer(invocation -> {
+            List<Employee> chunk = employeeRepository.findByIdGreaterThanOrderByIdAsc(invocation.getArgument(0), invocation.getArgument(1));
+            // an approval commits on an employee of the chunk while the accrual is still working on it
+            if (interfered.compareAndSet(false, true)) {
+                concurrent.executeWithoutResult(status -> employeeRepository.findById(renamedId).orElseThrow().setName("Renamed"));
+            }
+            return chunk;
+        }).when(interfering).findByIdGreaterThanOrderByIdAsc(any(), any());
+        LeaveAccrualService accrualService = new LeaveAccrualService(interfering, employeeLookupService, leaveLedgerService,
+                leaveLedgerRepository, checkpointRepository, entityManager, transactionTemplate, 100, AccrualMode.CHUNKED,
+                new SimpleMeterRegistry());
+
+        AccrualRunSummary summary = accrualService.runChunked();
+
+        assertTrue(interfered.get());
+        assertEquals(EMPLOYEE_COUNT, summary.getProcessedEmployees());
+        assertTrue(employeeRepository.findAll().stream().allMatch(employee -> employee.getRemainingLeaveDays() > 0));
+        assertEquals("Renamed", employeeRepository.findById(renamedId).orElseThrow().getName());
+    }
+
+    @Test
+    public void testSetBasedAccrualOnlyWritesChangedEmployees() {
+        long ledgerBefore = leaveLedgerRepository.count();
+        AccrualRunSummary first = leaveAccrualService.runSetBased();
+        Employee unchanged = employeeRepository.findAll(Sort.by("id")).get(0);
+        Employee adjusted = employeeRepository.findAll(Sort.by("id")).get(1);
+        adjusted.setRemainingLeaveDays(0);
+        employeeRepository.save(adjusted);
+        long ledgerEntries = leaveLedgerRepository.count();
+
+        AccrualRunSummary second = leaveAccrualService.runSetBased();
+
+        assertEquals(EMPLOYEE_COUNT, first.getProcessedEmployees());
+        assertEquals(EMPLOYEE_COUNT, ledgerEntries - ledgerBefore);
+        assertEquals(1, second.getProcessedEmployees());
+        assertEquals(ledgerEntries + 1, leaveLedgerRepository.count());
+        assertEquals(unchanged.getVersion(), employeeRepository.findById(unchanged.getId()).orElseThrow().getVersion());
+        Employee accrued = employeeRepository.findById(adjusted.getId()).orElseThrow();
+        LeaveLedgerEntry entry = leaveLedgerRepository.findByEmployeeIdOrderByEmployeeVersionAsc(adjusted.getId()).get(1);
+        assertEquals(accrued.getVersion(), entry.getEmployeeVersion());
+        assertEquals(accrued.getRemainingLeaveDays().intValue(), entry.getDays());
+    }
+
+    @Test
+    public void testSetBasedAccrualMatchesChunkedAccrual() {
+        LocalDate today = LocalDate.now();
+        List<Employee> edgeCases = new ArrayList<>();
+        for (LeaveEntitlementTier tier : LeaveEntitlementTier.values()) {
+            LocalDate boundary = today.minusYears(tier.getMinYears());
+            for (int offset = -1; offset <= 1; offset++) {
+                edgeCases.add(Employee.builder().name("Boundary").hireDate(boundary.plusDays(offset)).remainingLeaveDays(-1).build());
+            }
+        }
+        for (int year = 2004; year <= 2024; year += 4) {
+            edgeCases.add(Employee.builder().name("Leap day").hireDate(LocalDate.of(year, 2, 29)).remainingLeaveDays(-1).build());
+        }
+        edgeCases.add(Employee.builder().name("Future hire").hireDate(today.plusMonths(2)).remainingLeaveDays(-1).build());
+        employeeRepository.saveAll(edgeCases);
+
+        leaveAccrualService.runChunked();
+        Map<Long, Integer> chunkedResult = employeeRepository.findAll().stream()
+                .collect(Collectors.toMap(Employee::getId, Employee::getRemainingLeaveDays));
+
+        List<Employee> reset = employeeRepository.findAll();
+        reset.forEach(employee -> employee.setRemainingLeaveDays(-1));
+        employeeRepository.saveAll(reset);
+
+        AccrualRunSummary summary = leaveAccrualService.runSetBased();
+        Map<Long, Integer> setBasedResult = employeeRepository.findAll().stream()
+                .collect(Collectors.toMap(Employee::getId, Employee::getRemainingLeaveDays));
+
+        assertEquals(chunkedResult.size(), summary.getProcessedEmployees());
+        assertEquals(chunkedResult, setBasedResult);
+        for (Employee employee : employeeRepository.findAll()) {
+            if (!employee.getHireDate().isAfter(today)) {
+                assertEquals(DateHelper.calculateRemainingDaysForNewRecord(employee.getHireDate()),
+                        employee.getRemainingLeaveDays().intValue());
+            }
+        }
+    }
+}
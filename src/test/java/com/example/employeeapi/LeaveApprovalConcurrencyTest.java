@@ -0,0 +1,148 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.exception.InvalidLeaveRequestException;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.repository.LeaveRequestRepository;
+import com.example.employeeapi.service.LeaveRequestService;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "employee-api.approval.max-attempts=5")
+public class LeaveApprovalConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @After
+    public void tearDown() {
+        leaveRequestRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testConcurrentApprovalsNeverOverspendTheBalance() throws Exception {
+        int balance = 20;
+        Employee employee = saveEmployee(balance);
+        List<LeaveRequest> leaveRequests = new ArrayList<>();
+        LocalDate day = firstMondayAfterTwoWeeks();
+        for (int i = 0; i < 60; i++) {
+            leaveRequests.add(saveLeaveRequest(employee, day, day));
+            day = day.plusDays(day.getDayOfWeek() == DayOfWeek.FRIDAY ? 3 : 1);
+        }
+
+        List<Boolean> outcomes = runConcurrently(leaveRequests.stream()
+                .map(leaveRequest -> (Callable<Boolean>) () -> approve(leaveRequest.getId()))
+                .toList());
+
+        long approved = outcomes.stream().filter(Boolean::booleanValue).count();
+        assertEquals(balance, approved);
+        assertEquals(0, employeeRepository.findById(employee.getId()).orElseThrow().getRemainingLeaveDays().intValue());
+        assertEquals(balance, leaveRequestRepository.findAll().stream()
+                .filter(leaveRequest -> leaveRequest.getStatus() == LeaveRequestStatus.APPROVED)
+                .count());
+    }
+
+    @Test
+    public void testConcurrentApprovalsOfOneRequestDebitOnce() throws Exception {
+        Employee employee = saveEmployee(20);
+        LocalDate monday = firstMondayAfterTwoWeeks();
+        LeaveRequest leaveRequest = saveLeaveRequest(employee, monday, monday.plusDays(4));
+
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            tasks.add(() -> approve(leaveRequest.getId()));
+        }
+        List<Boolean> outcomes = runConcurrently(tasks);
+
+        assertEquals(1, outcomes.stream().filter(Boolean::booleanValue).count());
+        assertEquals(15, employeeRepository.findById(employee.getId()).orElseThrow().getRemainingLeaveDays().intValue());
+    }
+
+    private boolean approve(Long leaveRequestId) {
+        try {
+            leaveRequestService.updateLeaveRequestStatus(leaveRequestId, LeaveRequestStatus.APPROVED);
+            return true;
+        } catch (InvalidLeaveRequestException | OptimisticLockingFailureException e) {
+            return false;
+        }
+    }
+
+    private List<Boolean> runConcurrently(List<Callable<Boolean>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (Callable<Boolean> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<Boolean> outcomes = new ArrayList<>();
+            for (Future<Boolean> future : futures) {
+                outcomes.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    private Employee saveEmployee(int remainingLeaveDays) {
+        return employeeRepository.save(Employee.builder()
+                .name("Contended Employee")
+                .hireDate(LocalDate.now().minusYears(4))
+                .remainingLeaveDays(remainingLeaveDays)
+                .build());
+    }
+
+    private LeaveRequest saveLeaveRequest(Employee employee, LocalDate startDate, LocalDate endDate) {
+        return leaveRequestRepository.save(LeaveRequest.builder()
+                .employee(employee)
+                .startDate(startDate)
+                .endDate(endDate)
+                .totalLeaveDays(1 + (int) (endDate.toEpochDay() - startDate.toEpochDay()))
+                .status(LeaveRequestStatus.WAITING_FOR_APPROVAL)
+                .reason(LeaveRequestReason.VACATION)
+                .build());
+    }
+
+    private static LocalDate firstMondayAfterTwoWeeks() {
+        return LocalDate.now().plusWeeks(2).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
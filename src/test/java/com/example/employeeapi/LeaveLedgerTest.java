@@ -0,0 +1,185 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveLedgerEntry;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LedgerEntryType;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.exception.EmployeeNotFoundException;
+import com.example.employeeapi.model.EmployeeDto;
+import com.example.employeeapi.model.LeaveBalanceDto;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.repository.LeaveBalanceSnapshotRepository;
+import com.example.employeeapi.repository.LeaveLedgerRepository;
+import com.example.employeeapi.repository.LeaveRequestRepository;
+import com.example.employeeapi.repository.OutboxEventRepository;
+import com.example.employeeapi.service.EmployeeService;
+import com.example.employeeapi.service.LeaveAccrualService;
+import com.example.employeeapi.service.LeaveLedgerService;
+import com.example.employeeapi.service.LeaveRequestService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "employee-api.ledger.snapshot-chunk-size=7")
+public class LeaveLedgerTest {
+
+    private static final int EMPLOYEE_COUNT = 30;
+    private static final LocalDate MONDAY = LocalDate.now().plusYears(1).with(DayOfWeek.MONDAY);
+
+    @Autowired
+    private LeaveLedgerService leaveLedgerService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private LeaveAccrualService leaveAccrualService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private LeaveLedgerRepository leaveLedgerRepository;
+
+    @Autowired
+    private LeaveBalanceSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private final List<Employee> employees = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < EMPLOYEE_COUNT; i++) {
+            employees.add(employeeService.createEmployee(new EmployeeDto("Employee " + i, LocalDate.of(2010 + i % 10, 3, 1), null)));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        outboxEventRepository.deleteAllInBatch();
+        leaveRequestRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+        leaveLedgerRepository.deleteAllInBatch();
+        snapshotRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testLedgerBalanceFollowsEveryKindOfWrite() {
+        assertBalancesMatch();
+
+        approveOneWeekEach(0);
+        employeeService.updateEmployee(employees.get(3).getId(), EmployeeDto.builder().remainingLeaveDays(2).build());
+        assertBalancesMatch();
+
+        assertEquals(EMPLOYEE_COUNT, leaveLedgerService.snapshot());
+        assertEquals(0, leaveLedgerService.getBalance(employees.get(0).getId()).getTailEntries().intValue());
+        assertEquals(0, leaveLedgerService.snapshot());
+
+        approveOneWeekEach(1);
+        LeaveBalanceDto balance = leaveLedgerService.getBalance(employees.get(0).getId());
+        assertEquals(1, balance.getTailEntries().intValue());
+        assertBalancesMatch();
+
+        leaveAccrualService.runChunked();
+        assertBalancesMatch();
+        approveOneWeekEach(2);
+        leaveAccrualService.runSetBased();
+        assertBalancesMatch();
+        leaveLedgerService.snapshot();
+        assertBalancesMatch();
+    }
+
+    @Test
+    public void testDeletedEmployeeHasNoLedger() {
+        Employee employee = employees.get(0);
+        approve(employee, 0);
+        leaveLedgerService.snapshot();
+
+        employeeService.deleteEmployee(employee.getId());
+
+        assertThrows(EmployeeNotFoundException.class, () -> leaveLedgerService.getBalance(employee.getId()));
+        assertThrows(EmployeeNotFoundException.class, () -> leaveLedgerService.getLedger(employee.getId()));
+        assertEquals(0, leaveLedgerRepository.findByEmployeeIdOrderByEmployeeVersionAsc(employee.getId()).size());
+        assertFalse(snapshotRepository.existsById(employee.getId()));
+    }
+
+    @Test
+    public void testDebitEntryPointsAtTheApprovedLeaveRequest() {
+        Employee employee = employees.get(0);
+        LeaveRequest leaveRequest = approve(employee, 0);
+
+        List<LeaveLedgerEntry> ledger = leaveLedgerService.getLedger(employee.getId());
+
+        assertEquals(2, ledger.size());
+        assertEquals(LedgerEntryType.OPENING, ledger.get(0).getEntryType());
+        assertEquals(LedgerEntryType.DEBIT, ledger.get(1).getEntryType());
+        assertEquals(-2, ledger.get(1).getDays());
+        assertEquals(leaveRequest.getId(), ledger.get(1).getLeaveRequestId());
+    }
+
+    @Test
+    public void testEmployeesWithoutLedgerAreOpenedWithTheirBalance() {
+        Employee legacy = employeeRepository.save(Employee.builder()
+                .name("Legacy")
+                .hireDate(LocalDate.of(2001, 1, 1))
+                .remainingLeaveDays(11)
+                .build());
+
+        leaveLedgerService.openMissingLedgers();
+
+        assertEquals(11, leaveLedgerService.getBalance(legacy.getId()).getRemainingLeaveDays().intValue());
+        assertEquals(EMPLOYEE_COUNT + 1, leaveLedgerRepository.count());
+    }
+
+    private void approveOneWeekEach(int week) {
+        employees.forEach(employee -> approve(employee, week));
+    }
+
+    private LeaveRequest approve(Employee employee, int week) {
+        LeaveRequest leaveRequest = leaveRequestRepository.save(LeaveRequest.builder()
+                .employee(employee)
+                .startDate(MONDAY.plusWeeks(week))
+                .endDate(MONDAY.plusWeeks(week).plusDays(1))
+                .totalLeaveDays(2)
+                .status(LeaveRequestStatus.WAITING_FOR_APPROVAL)
+                .reason(LeaveRequestReason.VACATION)
+                .build());
+        try {
+            return leaveRequestService.updateLeaveRequestStatus(leaveRequest.getId(), LeaveRequestStatus.APPROVED);
+        } catch (RuntimeException e) {
+            // Employees whose balance ran out keep the request waiting; the ledger must agree either way.
+            return leaveRequest;
+        }
+    }
+
+    private void assertBalancesMatch() {
+        for (Employee employee : employeeRepository.findAll()) {
+            assertEquals("employee " + employee.getId(), employee.getRemainingLeaveDays(),
+                    leaveLedgerService.getBalance(employee.getId()).getRemainingLeaveDays());
+        }
+    }
+}
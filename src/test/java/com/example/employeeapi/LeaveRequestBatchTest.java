@@ -0,0 +1,118 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.exception.InvalidLeaveRequestException;
+import com.example.employeeapi.model.LeaveRequestBatchResult;
+import com.example.employeeapi.model.LeaveRequestDto;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.repository.LeaveRequestRepository;
+import com.example.employeeapi.service.LeaveRequestService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class LeaveRequestBatchTest {
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    private Employee employee;
+    private LocalDate monday;
+
+    @Before
+    public void setUp() {
+        employee = employeeRepository.save(Employee.builder()
+                .name("Batch Employee")
+                .hireDate(LocalDate.now().minusYears(3))
+                .remainingLeaveDays(8)
+                .build());
+        monday = LocalDate.now().plusWeeks(2).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    @After
+    public void tearDown() {
+        leaveRequestRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testBatchCountsEarlierItemsAgainstTheBalance() {
+        List<LeaveRequestDto> batch = List.of(
+                request(employee.getId(), monday, monday.plusDays(4)),
+                request(employee.getId(), monday.plusWeeks(1), monday.plusWeeks(1).plusDays(4)),
+                request(employee.getId(), monday.plusWeeks(2), monday.plusWeeks(2).plusDays(2)));
+
+        LeaveRequestBatchResult result = leaveRequestService.createLeaveRequests(batch);
+
+        assertEquals(2, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        assertTrue(result.getItems().get(0).isSuccess());
+        assertFalse(result.getItems().get(1).isSuccess());
+        assertNull(result.getItems().get(1).getLeaveRequestId());
+        assertTrue(result.getItems().get(2).isSuccess());
+        List<LeaveRequest> saved = leaveRequestRepository.findAll();
+        assertEquals(2, saved.size());
+        assertTrue(saved.stream().allMatch(leaveRequest -> leaveRequest.getStatus() == LeaveRequestStatus.WAITING_FOR_APPROVAL));
+        assertNotNull(result.getItems().get(2).getLeaveRequestId());
+    }
+
+    @Test
+    public void testBatchReportsUnknownEmployeesAndInvalidItemsPerIndex() {
+        List<LeaveRequestDto> batch = List.of(
+                request(-1L, monday, monday),
+                request(employee.getId(), LocalDate.now().minusDays(10), LocalDate.now().minusDays(9)),
+                request(employee.getId(), monday, null),
+                request(employee.getId(), monday, monday.plusDays(1)));
+
+        LeaveRequestBatchResult result = leaveRequestService.createLeaveRequests(batch);
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals(3, result.getFailed());
+        assertEquals("Employee not found", result.getItems().get(0).getError());
+        assertEquals("Cannot create a leave request for a past date.", result.getItems().get(1).getError());
+        assertEquals("Start date and end date are required.", result.getItems().get(2).getError());
+        assertEquals(3, result.getItems().get(3).getIndex());
+        assertEquals(1, leaveRequestRepository.count());
+    }
+
+    @Test
+    public void testEmptyBatchIsRejected() {
+        assertThrows(InvalidLeaveRequestException.class, () -> leaveRequestService.createLeaveRequests(List.of()));
+    }
+
+    private static LeaveRequestDto request(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return LeaveRequestDto.builder()
+                .employeeId(employeeId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .reason(LeaveRequestReason.VACATION)
+                .build();
+    }
+}
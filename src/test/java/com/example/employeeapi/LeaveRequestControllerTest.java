@@ -0,0 +1,85 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.model.LeaveRequestDto;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.repository.LeaveRequestRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class LeaveRequestControllerTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    private Employee employee;
+    private LeaveRequest leaveRequest;
+
+    @Before
+    public void setUp() {
+        employee = employeeRepository.save(Employee.builder()
+                .name("John Doe")
+                .hireDate(LocalDate.of(2015, 1, 1))
+                .remainingLeaveDays(10)
+                .build());
+        leaveRequest = leaveRequestRepository.save(LeaveRequest.builder()
+                .employee(employee)
+                .startDate(LocalDate.of(2030, 1, 7))
+                .endDate(LocalDate.of(2030, 1, 9))
+                .totalLeaveDays(3)
+                .status(LeaveRequestStatus.WAITING_FOR_APPROVAL)
+                .reason(LeaveRequestReason.VACATION)
+                .build());
+    }
+
+    @After
+    public void tearDown() {
+        leaveRequestRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testUpdateReturnsLeaveRequestWithEmployee() {
+        LeaveRequestDto update = LeaveRequestDto.builder()
+                .startDate(LocalDate.of(2030, 1, 14))
+                .endDate(LocalDate.of(2030, 1, 15))
+                .build();
+
+        ResponseEntity<JsonNode> response = restTemplate.exchange("/leaveRequest/" + leaveRequest.getId(), HttpMethod.PUT,
+                new HttpEntity<>(update), JsonNode.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().get("totalLeaveDays").asInt());
+        assertEquals("John Doe", response.getBody().get("employee").get("name").asText());
+
+        JsonNode reloaded = restTemplate.getForObject("/leaveRequest/" + leaveRequest.getId(), JsonNode.class);
+        assertEquals(2, reloaded.get("totalLeaveDays").asInt());
+        assertEquals(response.getBody().get("version").asLong(), reloaded.get("version").asLong());
+    }
+}
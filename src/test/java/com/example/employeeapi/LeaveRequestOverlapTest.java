@@ -0,0 +1,143 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.exception.InvalidLeaveRequestException;
+import com.example.employeeapi.model.LeaveRequestBatchResult;
+import com.example.employeeapi.model.LeaveRequestDto;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.repository.LeaveRequestRepository;
+import com.example.employeeapi.service.LeaveRequestService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class LeaveRequestOverlapTest {
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Employee employee;
+    private LocalDate monday;
+
+    @Before
+    public void setUp() {
+        employee = employeeRepository.save(Employee.builder()
+                .name("Overlap Employee")
+                .hireDate(LocalDate.now().minusYears(6))
+                .remainingLeaveDays(30)
+                .build());
+        monday = LocalDate.now().plusWeeks(3).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    @After
+    public void tearDown() {
+        leaveRequestRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testOverlappingRequestIsRejectedButAdjacentOneIsNot() {
+        leaveRequestService.createLeaveRequest(request(monday, monday.plusDays(2)));
+
+        InvalidLeaveRequestException e = assertThrows(InvalidLeaveRequestException.class,
+                () -> leaveRequestService.createLeaveRequest(request(monday.plusDays(2), monday.plusDays(4))));
+        assertTrue(e.getMessage().contains("overlaps"));
+
+        assertNotNull(leaveRequestService.createLeaveRequest(request(monday.plusDays(3), monday.plusDays(4))).getId());
+    }
+
+    @Test
+    public void testRejectedRequestsDoNotBlockTheRange() {
+        LeaveRequest first = leaveRequestService.createLeaveRequest(request(monday, monday.plusDays(2)));
+        leaveRequestService.updateLeaveRequestStatus(first.getId(), LeaveRequestStatus.REJECTED);
+
+        LeaveRequest second = leaveRequestService.createLeaveRequest(request(monday, monday.plusDays(2)));
+
+        assertNotNull(second.getId());
+        assertThrows(InvalidLeaveRequestException.class,
+                () -> leaveRequestService.updateLeaveRequestStatus(first.getId(), LeaveRequestStatus.WAITING_FOR_APPROVAL));
+    }
+
+    @Test
+    public void testMovingARequestOntoAnotherIsRejected() {
+        leaveRequestService.createLeaveRequest(request(monday, monday.plusDays(1)));
+        LeaveRequest later = leaveRequestService.createLeaveRequest(request(monday.plusWeeks(1), monday.plusWeeks(1).plusDays(1)));
+
+        assertThrows(InvalidLeaveRequestException.class,
+                () -> leaveRequestService.updateLeaveRequest(later.getId(), request(monday.plusDays(1), monday.plusDays(3))));
+        LeaveRequest moved = leaveRequestService.updateLeaveRequest(later.getId(),
+                request(monday.plusWeeks(1).plusDays(1), monday.plusWeeks(1).plusDays(2)));
+        assertEquals(monday.plusWeeks(1).plusDays(1), moved.getStartDate());
+    }
+
+    @Test
+    public void testBatchRejectsOverlapsWithStoredAndEarlierItems() {
+        leaveRequestService.createLeaveRequest(request(monday, monday));
+
+        LeaveRequestBatchResult result = leaveRequestService.createLeaveRequests(List.of(
+                request(monday, monday.plusDays(1)),
+                request(monday.plusDays(1), monday.plusDays(2)),
+                request(monday.plusDays(2), monday.plusDays(3)),
+                request(monday.plusDays(4), monday.plusDays(4))));
+
+        assertFalse(result.getItems().get(0).isSuccess());
+        assertTrue(result.getItems().get(1).isSuccess());
+        assertFalse(result.getItems().get(2).isSuccess());
+        assertTrue(result.getItems().get(3).isSuccess());
+        assertEquals(3, leaveRequestRepository.count());
+    }
+
+    @Test
+    public void testOverlapQueryOnlyScansTheEmployeesRecentRequests() {
+        jdbcTemplate.update("insert into leave_requests (id, employee_id, start_date, end_date, total_leave_days, status, reason, version) "
+                + "select -x, ?, dateadd('DAY', x * 7, date '2000-01-03'), dateadd('DAY', x * 7 + 1, date '2000-01-03'), 2, "
+                + "'APPROVED', 'VACATION', 0 from system_range(1, 1000) r(x)", employee.getId());
+
+        List<String> plan = jdbcTemplate.queryForList("explain select l.id from leave_requests l where l.employee_id = ? "
+                + "and l.status in ('WAITING_FOR_APPROVAL', 'APPROVED') and l.end_date >= ? and l.start_date <= ? and l.id <> 0",
+                String.class, employee.getId(), monday, monday.plusDays(2));
+
+        assertTrue(plan.get(0), plan.get(0).contains("idx_leave_requests_employee_end_start"));
+        assertFalse(leaveRequestRepository.existsOverlapping(employee.getId(), monday, monday.plusDays(2), null));
+        assertTrue(leaveRequestRepository.existsOverlapping(employee.getId(), LocalDate.of(2000, 1, 11), LocalDate.of(2000, 1, 11), null));
+    }
+
+    private LeaveRequestDto request(LocalDate startDate, LocalDate endDate) {
+        return LeaveRequestDto.builder()
+                .employeeId(employee.getId())
+                .startDate(startDate)
+                .endDate(endDate)
+                .reason(LeaveRequestReason.VACATION)
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.model.CursorPage;
+import com.example.employeeapi.model.LeaveRequestFilter;
+import com.example.employeeapi.model.LeaveRequestSummaryDto;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.repository.LeaveRequestRepository;
+import com.example.employeeapi.service.LeaveRequestService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class LeaveRequestQueryCountTest {
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @Before
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            employees.add(employeeRepository.save(Employee.builder()
+                    .name("Employee " + i)
+                    .hireDate(LocalDate.of(2015, 1, 1))
+                    .remainingLeaveDays(20)
+                    .build()));
+        }
+        List<LeaveRequest> leaveRequests = new ArrayList<>();
+        LocalDate start = LocalDate.of(2030, 1, 7);
+        for (int i = 0; i < 200; i++) {
+            leaveRequests.add(LeaveRequest.builder()
+                    .employee(employees.get(i % employees.size()))
+                    .startDate(start.plusDays(i))
+                    .endDate(start.plusDays(i + 1))
+                    .totalLeaveDays(2)
+                    .status(LeaveRequestStatus.WAITING_FOR_APPROVAL)
+                    .reason(LeaveRequestReason.VACATION)
+                    .build());
+        }
+        leaveRequestRepository.saveAll(leaveRequests);
+    }
+
+    @After
+    public void tearDown() {
+        leaveRequestRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testEveryPageIsOneStatementRegardlessOfSize() {
+        for (int pageSize : new int[]{5, 50, 200}) {
+            statistics.clear();
+
+            CursorPage<LeaveRequestSummaryDto> page = leaveRequestService.list(new LeaveRequestFilter(), null, pageSize);
+
+            assertEquals(pageSize, page.getItems().size());
+            assertTrue(page.getItems().stream().allMatch(item -> item.getEmployeeName().startsWith("Employee ")));
+            assertEquals("statements for a page of " + pageSize, 1, statistics.getPrepareStatementCount());
+        }
+    }
+
+    @Test
+    public void testFindAllAndFindByIdLoadTheEmployeeInTheSameStatement() {
+        statistics.clear();
+        List<LeaveRequest> all = leaveRequestRepository.findAll();
+        all.forEach(leaveRequest -> leaveRequest.getEmployee().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        LeaveRequest leaveRequest = leaveRequestRepository.findById(all.get(0).getId()).orElseThrow();
+        leaveRequest.getEmployee().getName();
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
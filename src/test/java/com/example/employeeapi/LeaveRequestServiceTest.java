@@ -2,33 +2,48 @@ package com.example.employeeapi;
 
 import com.example.employeeapi.entity.Employee;
 import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestReason;
 import com.example.employeeapi.exception.EmployeeNotFoundException;
 import com.example.employeeapi.exception.InvalidLeaveRequestException;
+import com.example.employeeapi.helper.WorkingDayCalendar;
+import com.example.employeeapi.mapper.LeaveRequestMapper;
 import com.example.employeeapi.model.LeaveRequestDto;
 import com.example.employeeapi.repository.EmployeeRepository;
 import com.example.employeeapi.repository.LeaveRequestRepository;
+import com.example.employeeapi.service.AvailabilityService;
+import com.example.employeeapi.service.EmployeeLookupService;
+import com.example.employeeapi.service.LeaveLedgerService;
+import com.example.employeeapi.service.LeaveUsageService;
 import com.example.employeeapi.service.LeaveRequestService;
+import com.example.employeeapi.service.OutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
-import org.modelmapper.ModelMapper;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.mapstruct.factory.Mappers;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class LeaveRequestServiceTest {
 
-    @InjectMocks
+    private static final LocalDate MONDAY = LocalDate.now().plusMonths(1).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
     private LeaveRequestService leaveRequestService;
 
     @Mock
@@ -37,8 +52,29 @@ public class LeaveRequestServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Spy
+    private LeaveRequestMapper leaveRequestMapper = Mappers.getMapper(LeaveRequestMapper.class);
+
+    @Mock
+    private EmployeeLookupService employeeLookupService;
+
+    @Spy
+    private WorkingDayCalendar workingDayCalendar = new WorkingDayCalendar(Set::of);
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @Mock
-    private ModelMapper modelMapper;
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private LeaveLedgerService leaveLedgerService;
+
+    @Mock
+    private LeaveUsageService leaveUsageService;
 
     private Employee employee;
     private LeaveRequestDto leaveRequestDto;
@@ -46,6 +82,10 @@ public class LeaveRequestServiceTest {
 
     @Before
     public void setUp() {
+        leaveRequestService = new LeaveRequestService(leaveRequestRepository, employeeRepository, leaveRequestMapper,
+                workingDayCalendar, employeeLookupService, transactionTemplate, availabilityService, outboxService,
+                leaveLedgerService, leaveUsageService, new SimpleMeterRegistry(), 3);
+
         employee = new Employee();
         employee.setId(1L);
         employee.setHireDate(LocalDate.of(2020, 1, 1));
@@ -53,28 +93,31 @@ public class LeaveRequestServiceTest {
 
         leaveRequestDto = new LeaveRequestDto();
         leaveRequestDto.setEmployeeId(employee.getId());
-        leaveRequestDto.setStartDate(LocalDate.of(2023, 2, 3));
-        leaveRequestDto.setEndDate(LocalDate.of(2023, 2, 5));
-        leaveRequestDto.setTotalLeaveDays(5);
+        leaveRequestDto.setStartDate(MONDAY);
+        leaveRequestDto.setEndDate(MONDAY.plusDays(2));
+        leaveRequestDto.setTotalLeaveDays(3);
+        leaveRequestDto.setReason(LeaveRequestReason.VACATION);
 
         leaveRequest = new LeaveRequest();
         leaveRequest.setEmployee(employee);
-        leaveRequest.setStartDate(LocalDate.of(2023, 2, 3));
-        leaveRequest.setEndDate(LocalDate.of(2023, 2, 5));
-        leaveRequest.setTotalLeaveDays(5);
+        leaveRequest.setStartDate(MONDAY);
+        leaveRequest.setEndDate(MONDAY.plusDays(2));
+        leaveRequest.setTotalLeaveDays(3);
+        leaveRequest.setReason(LeaveRequestReason.VACATION);
 
         LeaveRequest existingLeaveRequest = new LeaveRequest();
         existingLeaveRequest.setEmployee(employee);
-        existingLeaveRequest.setStartDate(LocalDate.of(2023, 2, 3));
-        existingLeaveRequest.setEndDate(LocalDate.of(2023, 2, 5));
-        existingLeaveRequest.setTotalLeaveDays(5);
+        existingLeaveRequest.setStartDate(MONDAY);
+        existingLeaveRequest.setEndDate(MONDAY.plusDays(2));
+        existingLeaveRequest.setTotalLeaveDays(3);
     }
 
     @Test
     public void testCreateLeaveRequest_valid() {
-        when(employeeRepository.findById(employee.getId())).thenReturn(Optional.of(employee));
-        when(modelMapper.map(leaveRequestDto, LeaveRequest.class)).thenReturn(leaveRequest);
-        when(leaveRequestRepository.save(leaveRequest)).thenReturn(leaveRequest);
+        when(employeeLookupService.getEmployee(employee.getId())).thenReturn(employee);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(leaveRequestRepository.save(any(LeaveRequest.class))).thenReturn(leaveRequest);
 
         LeaveRequest result = leaveRequestService.createLeaveRequest(leaveRequestDto);
 
@@ -84,7 +127,7 @@ public class LeaveRequestServiceTest {
 
     @Test(expected = EmployeeNotFoundException.class)
     public void testCreateLeaveRequest_employeeNotFound() {
-        when(employeeRepository.findById(employee.getId())).thenReturn(Optional.empty());
+        when(employeeLookupService.getEmployee(employee.getId())).thenThrow(new EmployeeNotFoundException("Employee not found"));
 
         leaveRequestService.createLeaveRequest(leaveRequestDto);
     }
@@ -92,7 +135,7 @@ public class LeaveRequestServiceTest {
     @Test(expected = InvalidLeaveRequestException.class)
     public void testCreateLeaveRequest_startDateInPast() {
         leaveRequestDto.setStartDate(LocalDate.of(2021, 12, 31));
-        when(employeeRepository.findById(leaveRequest.getEmployee().getId())).thenReturn(Optional.ofNullable(employee));
+        when(employeeLookupService.getEmployee(leaveRequest.getEmployee().getId())).thenReturn(employee);
 
         leaveRequestService.createLeaveRequest(leaveRequestDto);
     }
@@ -101,7 +144,7 @@ public class LeaveRequestServiceTest {
     public void testCreateLeaveRequest_exceedingLeaveRequest() {
         leaveRequestDto.setStartDate(LocalDate.of(2021, 12, 31));
         leaveRequestDto.setEndDate(LocalDate.of(2025, 12, 31));
-        when(employeeRepository.findById(leaveRequest.getEmployee().getId())).thenReturn(Optional.ofNullable(employee));
+        when(employeeLookupService.getEmployee(leaveRequest.getEmployee().getId())).thenReturn(employee);
 
         leaveRequestService.createLeaveRequest(leaveRequestDto);
     }
@@ -0,0 +1,171 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.model.LeaveRequestDto;
+import com.example.employeeapi.model.LeaveUsageDto;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.repository.LeaveRequestRepository;
+import com.example.employeeapi.repository.LeaveUsageSummaryRepository;
+import com.example.employeeapi.service.EmployeeService;
+import com.example.employeeapi.service.LeaveRequestService;
+import com.example.employeeapi.service.LeaveUsageService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class LeaveUsageTest {
+
+    private static final int YEAR = LocalDate.now().getYear() + 3;
+    private static final LocalDate MARCH = LocalDate.of(YEAR, 3, 1).with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+    private static final LocalDate JUNE = LocalDate.of(YEAR, 6, 1).with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+
+    @Autowired
+    private LeaveUsageService leaveUsageService;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private LeaveUsageSummaryRepository leaveUsageSummaryRepository;
+
+    private Employee employee;
+
+    @Before
+    public void setUp() {
+        leaveUsageService.rebuild();
+        employee = employeeRepository.save(Employee.builder()
+                .name("John Doe")
+                .hireDate(LocalDate.of(2010, 1, 1))
+                .remainingLeaveDays(30)
+                .build());
+    }
+
+    @After
+    public void tearDown() {
+        leaveRequestRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+        leaveUsageService.rebuild();
+    }
+
+    @Test
+    public void testSummaryFollowsCreateStatusUpdateAndDelete() {
+        LeaveRequest vacation = create(MARCH, LeaveRequestReason.VACATION);
+        LeaveRequest sickness = create(MARCH.plusWeeks(1), LeaveRequestReason.SICKNESS);
+        create(MARCH.plusWeeks(2), LeaveRequestReason.VACATION);
+
+        assertEquals(List.of(
+                        row(3, LeaveRequestReason.SICKNESS, LeaveRequestStatus.WAITING_FOR_APPROVAL, 1, 3),
+                        row(3, LeaveRequestReason.VACATION, LeaveRequestStatus.WAITING_FOR_APPROVAL, 2, 6)),
+                usage());
+
+        leaveRequestService.updateLeaveRequestStatus(vacation.getId(), LeaveRequestStatus.APPROVED);
+        leaveRequestService.updateLeaveRequest(sickness.getId(), LeaveRequestDto.builder()
+                .startDate(JUNE)
+                .endDate(JUNE.plusDays(3))
+                .build());
+
+        assertEquals(List.of(
+                        row(3, LeaveRequestReason.VACATION, LeaveRequestStatus.APPROVED, 1, 3),
+                        row(3, LeaveRequestReason.VACATION, LeaveRequestStatus.WAITING_FOR_APPROVAL, 1, 3),
+                        row(6, LeaveRequestReason.SICKNESS, LeaveRequestStatus.WAITING_FOR_APPROVAL, 1, 4)),
+                usage());
+
+        leaveRequestService.deleteLeaveRequest(sickness.getId());
+
+        assertEquals(List.of(
+                        row(3, LeaveRequestReason.VACATION, LeaveRequestStatus.APPROVED, 1, 3),
+                        row(3, LeaveRequestReason.VACATION, LeaveRequestStatus.WAITING_FOR_APPROVAL, 1, 3)),
+                usage());
+    }
+
+    @Test
+    public void testBatchAndEmployeeDeleteMatchRebuild() {
+        leaveRequestService.createLeaveRequests(List.of(
+                dto(MARCH, LeaveRequestReason.EDUCATION),
+                dto(MARCH.plusWeeks(1), LeaveRequestReason.EDUCATION),
+                dto(JUNE, LeaveRequestReason.PERSONAL_LEAVE)));
+        List<String> incremental = usage();
+
+        leaveUsageService.rebuild();
+
+        assertEquals(incremental, usage());
+        assertEquals(List.of(
+                        row(3, LeaveRequestReason.EDUCATION, LeaveRequestStatus.WAITING_FOR_APPROVAL, 2, 6),
+                        row(6, LeaveRequestReason.PERSONAL_LEAVE, LeaveRequestStatus.WAITING_FOR_APPROVAL, 1, 3)),
+                incremental);
+
+        employeeService.deleteEmployee(employee.getId());
+
+        assertTrue(usage().isEmpty());
+    }
+
+    @Test
+    public void testEmptySummaryIsSeededFromExistingLeaveRequests() {
+        LeaveRequest existing = leaveRequestRepository.save(LeaveRequest.builder()
+                .employee(employee)
+                .startDate(MARCH)
+                .endDate(MARCH.plusDays(2))
+                .totalLeaveDays(3)
+                .status(LeaveRequestStatus.WAITING_FOR_APPROVAL)
+                .reason(LeaveRequestReason.VACATION)
+                .build());
+        leaveUsageSummaryRepository.deleteAllInBatch();
+
+        leaveUsageService.seedIfEmpty();
+        leaveUsageService.seedIfEmpty();
+        leaveRequestService.updateLeaveRequestStatus(existing.getId(), LeaveRequestStatus.REJECTED);
+
+        assertEquals(List.of(row(3, LeaveRequestReason.VACATION, LeaveRequestStatus.REJECTED, 1, 3)), usage());
+    }
+
+    private LeaveRequest create(LocalDate startDate, LeaveRequestReason reason) {
+        return leaveRequestService.createLeaveRequest(dto(startDate, reason));
+    }
+
+    private LeaveRequestDto dto(LocalDate startDate, LeaveRequestReason reason) {
+        return LeaveRequestDto.builder()
+                .employeeId(employee.getId())
+                .startDate(startDate)
+                .endDate(startDate.plusDays(2))
+                .totalLeaveDays(3)
+                .reason(reason)
+                .build();
+    }
+
+    // rows are compared as strings in the report's order: month, then reason and status by name
+    private List<String> usage() {
+        return leaveUsageService.getUsage(YEAR).stream()
+                .map(usage -> row(usage.getMonth(), usage.getReason(), usage.getStatus(), usage.getRequestCount(), usage.getTotalDays()))
+                .toList();
+    }
+
+    private static String row(int month, LeaveRequestReason reason, LeaveRequestStatus status, long count, long days) {
+        return month + " " + reason + " " + status + " " + count + " " + days;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.helper.LogRateLimiter;
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+
+public class LogRateLimiterTest {
+
+    @Test
+    public void testSuppressesAfterLimitPerKey() {
+        LogRateLimiter limiter = new LogRateLimiter(2, Duration.ofHours(1));
+
+        assertEquals(0, limiter.tryAcquire("400:PAST_DATE"));
+        assertEquals(0, limiter.tryAcquire("400:PAST_DATE"));
+        assertEquals(-1, limiter.tryAcquire("400:PAST_DATE"));
+        assertEquals(-1, limiter.tryAcquire("400:PAST_DATE"));
+        assertEquals(0, limiter.tryAcquire("404:EMPLOYEE_NOT_FOUND"));
+    }
+
+    @Test
+    public void testReportsSuppressedCountWhenWindowRollsOver() throws InterruptedException {
+        LogRateLimiter limiter = new LogRateLimiter(1, Duration.ofMillis(50));
+
+        assertEquals(0, limiter.tryAcquire("409:OVERLAP"));
+        assertEquals(-1, limiter.tryAcquire("409:OVERLAP"));
+        assertEquals(-1, limiter.tryAcquire("409:OVERLAP"));
+        Thread.sleep(60);
+
+        assertEquals(2, limiter.tryAcquire("409:OVERLAP"));
+    }
+}
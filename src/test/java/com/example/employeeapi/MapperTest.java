@@ -0,0 +1,58 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.mapper.EmployeeMapper;
+import com.example.employeeapi.mapper.LeaveRequestMapper;
+import com.example.employeeapi.model.EmployeeDto;
+import com.example.employeeapi.model.LeaveRequestDto;
+import org.junit.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class MapperTest {
+
+    private final EmployeeMapper employeeMapper = Mappers.getMapper(EmployeeMapper.class);
+    private final LeaveRequestMapper leaveRequestMapper = Mappers.getMapper(LeaveRequestMapper.class);
+
+    @Test
+    public void testEmployeeRoundTrip() {
+        Employee employee = new Employee(7L, "John Doe", LocalDate.of(2019, 5, 2), 15, 0L);
+
+        EmployeeDto employeeDto = employeeMapper.toDto(employee);
+        Employee mapped = employeeMapper.toEntity(employeeDto);
+
+        assertEquals("John Doe", employeeDto.getName());
+        assertEquals(LocalDate.of(2019, 5, 2), employeeDto.getHireDate());
+        assertEquals(15, employeeDto.getRemainingLeaveDays().intValue());
+        assertNull(mapped.getId());
+        assertEquals(employee.getName(), mapped.getName());
+    }
+
+    @Test
+    public void testLeaveRequestUsesResolvedEmployee() {
+        Employee employee = new Employee(7L, "John Doe", LocalDate.of(2019, 5, 2), 15, 0L);
+        LeaveRequestDto leaveRequestDto = LeaveRequestDto.builder()
+                .employeeId(7L)
+                .startDate(LocalDate.of(2030, 3, 4))
+                .endDate(LocalDate.of(2030, 3, 6))
+                .totalLeaveDays(3)
+                .reason(LeaveRequestReason.VACATION)
+                .build();
+
+        LeaveRequest leaveRequest = leaveRequestMapper.toEntity(leaveRequestDto, employee);
+
+        assertNull(leaveRequest.getId());
+        assertSame(employee, leaveRequest.getEmployee());
+        assertEquals(LocalDate.of(2030, 3, 4), leaveRequest.getStartDate());
+        assertEquals(3, leaveRequest.getTotalLeaveDays().intValue());
+        assertNull(leaveRequest.getStatus());
+        assertEquals(Long.valueOf(7L), leaveRequestMapper.toDto(leaveRequest).getEmployeeId());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.exception.InvalidLeaveRequestException;
+import com.example.employeeapi.model.LeaveRequestDto;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.service.EmployeeService;
+import com.example.employeeapi.service.LeaveRequestService;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class MetricsTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @After
+    public void tearDown() {
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testPrometheusScrapeCoversServicesValidationHibernateAndAccrual() {
+        Employee employee = employeeRepository.save(Employee.builder()
+                .name("John Doe")
+                .hireDate(LocalDate.of(2015, 1, 1))
+                .remainingLeaveDays(10)
+                .build());
+        LeaveRequestDto pastLeave = LeaveRequestDto.builder()
+                .employeeId(employee.getId())
+                .startDate(LocalDate.now().minusDays(10))
+                .endDate(LocalDate.now().minusDays(9))
+                .build();
+        assertThrows(InvalidLeaveRequestException.class, () -> leaveRequestService.createLeaveRequest(pastLeave));
+        employeeService.getAllEmployees();
+        employeeService.updateRemainingLeave();
+        restTemplate.getForObject("/employee", String.class);
+
+        String scrape = restTemplate.getForObject("/actuator/prometheus", String.class);
+
+        assertContains(scrape, "service_calls_seconds_count{application=\"employee-api\",class=\"com.example.employeeapi.service.LeaveRequestService\","
+                + "exception=\"InvalidLeaveRequestException\",method=\"createLeaveRequest\",}");
+        assertContains(scrape, "service_calls_seconds_bucket{application=\"employee-api\",class=\"com.example.employeeapi.service.EmployeeService\","
+                + "exception=\"none\",method=\"getAllEmployees\"");
+        assertContains(scrape, "leave_requests_rejected_total{application=\"employee-api\",reason=\"PAST_DATE\",} 1.0");
+        assertContains(scrape, "hibernate_flushes_total");
+        assertContains(scrape, "hibernate_entities_loads_total");
+        assertContains(scrape, "hibernate_query_executions_total");
+        assertContains(scrape, "hibernate_second_level_cache_requests_total{application=\"employee-api\",entityManagerFactory=\"entityManagerFactory\",region=\"com.example.employeeapi.entity.Employee\",result=\"hit\",}");
+        assertContains(scrape, "leave_accrual_last_employees{application=\"employee-api\",} 1.0");
+        assertContains(scrape, "leave_accrual_last_duration_seconds");
+        assertContains(scrape, "http_server_requests_seconds");
+    }
+
+    private static void assertContains(String scrape, String expected) {
+        assertTrue("missing " + expected, scrape.contains(expected));
+    }
+}
@@ -0,0 +1,376 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.helper.CursorHelper;
+import com.example.employeeapi.helper.WorkingDayCalendar;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.repository.LeaveRequestRepository;
+import com.example.employeeapi.service.AvailabilityService;
+import com.example.employeeapi.service.LeaveLedgerService;
+import com.example.employeeapi.service.LeaveUsageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives {@code POST /leaveRequest}, {@code PUT /leaveRequest/{id}/status} and {@code GET /employee} together at fixed
+ * arrival rates against the application on its embedded test database, reports throughput and latency percentiles
+ * per endpoint, and fails when an endpoint is over one of its thresholds.
+ * <p>
+ * Arrivals are open: each request has an intended start on its endpoint's schedule and its latency is measured from
+ * there, so a stalled server shows up as latency instead of quietly lowering the offered load. Requests starting in
+ * the first {@code loadtest.warmup-seconds} are not recorded. The dataset and the request sequence are derived from
+ * {@code loadtest.seed}, so runs with the same settings send the same requests. The report is also written to
+ * {@code target/loadtest/mixed-workload.json} for comparing releases.
+ * <p>
+ * Run with {@code mvn -Ploadtest test -Dtest=MixedWorkloadLoadTest}, overriding any {@code loadtest.*} setting below
+ * with {@code -D}, e.g. {@code -Dloadtest.rate.create-leave-request=50 -Dloadtest.create-leave-request.p99-ms=100}.
+ */
+public class MixedWorkloadLoadTest {
+
+    private static final int EMPLOYEES = Integer.getInteger("loadtest.employees", 1_000);
+    private static final int LEAVE_REQUESTS_PER_EMPLOYEE = Integer.getInteger("loadtest.leave-requests-per-employee", 20);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 5);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 30);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("loadtest.max-in-flight", 500);
+    private static final long SEED = Long.getLong("loadtest.seed", 42);
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.001"));
+
+    private static final LocalDate FIRST_WEEK = LocalDate.now().plusYears(1).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    private static final DateTimeFormatter DTO_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    @Test
+    public void testMixedWorkloadStaysWithinThresholds() throws Exception {
+        // every request comes from one address, so per-client admission control stays off unless -D turns it on
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(EmployeeApiApplication.class)
+                .properties("server.port=0",
+                        "spring.datasource.hikari.maximum-pool-size=20",
+                        "employee-api.admission.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        List<Endpoint> endpoints;
+        try {
+            Dataset dataset = seed(context);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            endpoints = List.of(
+                    new Endpoint("get-employees", "GET /employee", 100, 200, 50, 100, 250, listEmployees(baseUrl, dataset)),
+                    new Endpoint("create-leave-request", "POST /leaveRequest", 25, 201, 100, 200, 500, createLeaveRequests(baseUrl, dataset)),
+                    new Endpoint("update-status", "PUT /leaveRequest/{id}/status", 10, 200, 100, 250, 500, updateStatuses(baseUrl, dataset)));
+            drive(endpoints);
+        } finally {
+            context.close();
+        }
+
+        report(endpoints);
+        List<String> violations = new ArrayList<>();
+        endpoints.forEach(endpoint -> violations.addAll(endpoint.violations()));
+        assertTrue("Load test thresholds exceeded:\n" + String.join("\n", violations), violations.isEmpty());
+    }
+
+    private Dataset seed(ConfigurableApplicationContext context) {
+        EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+        LeaveRequestRepository leaveRequestRepository = context.getBean(LeaveRequestRepository.class);
+        WorkingDayCalendar calendar = context.getBean(WorkingDayCalendar.class);
+        Random random = new Random(SEED);
+
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(Employee.builder()
+                    .name("Load Employee " + i)
+                    .hireDate(LocalDate.of(2000, 1, 1).plusDays(random.nextInt(365 * 20)))
+                    .remainingLeaveDays(LEAVE_REQUESTS_PER_EMPLOYEE * 10)
+                    .build());
+        }
+        employees = employeeRepository.saveAll(employees);
+
+        List<LeaveRequest> leaveRequests = new ArrayList<>();
+        for (Employee employee : employees) {
+            for (int week = 0; week < LEAVE_REQUESTS_PER_EMPLOYEE; week++) {
+                LocalDate day = workingDayInWeek(calendar, week);
+                leaveRequests.add(LeaveRequest.builder()
+                        .employee(employee)
+                        .startDate(day)
+                        .endDate(day)
+                        .totalLeaveDays(1)
+                        .status(LeaveRequestStatus.WAITING_FOR_APPROVAL)
+                        .reason(LeaveRequestReason.values()[random.nextInt(LeaveRequestReason.values().length)])
+                        .build());
+            }
+        }
+        List<Long> waitingIds = new ArrayList<>(leaveRequestRepository.saveAll(leaveRequests).stream().map(LeaveRequest::getId).toList());
+        Collections.shuffle(waitingIds, random);
+
+        // derived state a real dataset would have
+        context.getBean(LeaveLedgerService.class).openMissingLedgers();
+        context.getBean(LeaveUsageService.class).rebuild();
+        context.getBean(AvailabilityService.class).rebuild();
+
+        return new Dataset(employees.stream().map(Employee::getId).toList(), waitingIds, calendar);
+    }
+
+    private static LocalDate workingDayInWeek(WorkingDayCalendar calendar, int week) {
+        LocalDate day = FIRST_WEEK.plusWeeks(week);
+        while (!calendar.isWorkingDay(day)) {
+            day = day.plusDays(1);
+        }
+        return day;
+    }
+
+    private Supplier<HttpRequest> listEmployees(String baseUrl, Dataset dataset) {
+        Random random = new Random(SEED + 1);
+        return () -> {
+            Long afterId = dataset.employeeIds.get(random.nextInt(dataset.employeeIds.size()));
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/employee?limit=50&cursor=" + CursorHelper.encode(afterId))).build();
+        };
+    }
+
+    // each employee gets at most one new request per week after the seeded ones, so creations never overlap
+    private Supplier<HttpRequest> createLeaveRequests(String baseUrl, Dataset dataset) {
+        Random random = new Random(SEED + 2);
+        int[] nextWeek = new int[dataset.employeeIds.size()];
+        Arrays.fill(nextWeek, LEAVE_REQUESTS_PER_EMPLOYEE);
+        return () -> {
+            int employee = random.nextInt(dataset.employeeIds.size());
+            String day = workingDayInWeek(dataset.calendar, nextWeek[employee]++).format(DTO_DATE);
+            String body = "{\"employeeId\":" + dataset.employeeIds.get(employee) + ",\"startDate\":\"" + day
+                    + "\",\"endDate\":\"" + day + "\",\"reason\":\"VACATION\"}";
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/leaveRequest"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        };
+    }
+
+    // every status change targets a different seeded request; one in four is a rejection, the rest are approvals
+    private Supplier<HttpRequest> updateStatuses(String baseUrl, Dataset dataset) {
+        int[] next = {0};
+        return () -> {
+            int index = next[0]++;
+            if (index >= dataset.waitingIds.size()) {
+                throw new IllegalStateException("Seeded " + dataset.waitingIds.size()
+                        + " waiting leave requests, raise loadtest.employees or loadtest.leave-requests-per-employee");
+            }
+            LeaveRequestStatus status = index % 4 == 3 ? LeaveRequestStatus.REJECTED : LeaveRequestStatus.APPROVED;
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/leaveRequest/" + dataset.waitingIds.get(index) + "/status"))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString("\"" + status + "\""))
+                    .build();
+        };
+    }
+
+    private void drive(List<Endpoint> endpoints) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        long begin = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureFrom = begin + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+
+        List<Thread> dispatchers = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            Thread dispatcher = new Thread(() -> endpoint.dispatch(client, inFlight, begin, measureFrom, end), "loadtest-" + endpoint.key);
+            dispatcher.start();
+            dispatchers.add(dispatcher);
+        }
+        for (Thread dispatcher : dispatchers) {
+            dispatcher.join();
+        }
+        if (!inFlight.tryAcquire(MAX_IN_FLIGHT, 60, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Requests still in flight 60 s after the last one was sent");
+        }
+    }
+
+    private void report(List<Endpoint> endpoints) throws Exception {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        System.out.printf("%-32s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "max ms");
+        for (Endpoint endpoint : endpoints) {
+            long[] sorted = endpoint.sortedLatencies();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", endpoint.name);
+            row.put("targetRate", endpoint.rate);
+            row.put("requests", sorted.length);
+            row.put("errors", endpoint.errors);
+            row.put("errorKinds", endpoint.errorKinds);
+            row.put("throughput", (double) (sorted.length - endpoint.errors) / DURATION_SECONDS);
+            row.put("p50Millis", percentileMillis(sorted, 0.50));
+            row.put("p95Millis", percentileMillis(sorted, 0.95));
+            row.put("p99Millis", percentileMillis(sorted, 0.99));
+            row.put("p999Millis", percentileMillis(sorted, 0.999));
+            row.put("maxMillis", percentileMillis(sorted, 1.0));
+            rows.add(row);
+            System.out.printf("%-32s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n", endpoint.name, sorted.length, endpoint.errors,
+                    row.get("throughput"), row.get("p50Millis"), row.get("p95Millis"), row.get("p99Millis"),
+                    row.get("p999Millis"), row.get("maxMillis"));
+        }
+        File file = new File("target/loadtest/mixed-workload.json");
+        file.getParentFile().mkdirs();
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, rows);
+    }
+
+    // nearest-rank percentile
+    private static double percentileMillis(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1e6;
+    }
+
+    private static class Dataset {
+        private final List<Long> employeeIds;
+        private final List<Long> waitingIds;
+        private final WorkingDayCalendar calendar;
+
+        Dataset(List<Long> employeeIds, List<Long> waitingIds, WorkingDayCalendar calendar) {
+            this.employeeIds = employeeIds;
+            this.waitingIds = waitingIds;
+            this.calendar = calendar;
+        }
+    }
+
+    /**
+     * One endpoint's schedule, thresholds and recorded latencies. Rates and thresholds default to the constructor
+     * arguments and are overridden by {@code loadtest.rate.<key>} and {@code loadtest.<key>.p95-ms|p99-ms|p999-ms}.
+     */
+    private static class Endpoint {
+        private final String key;
+        private final String name;
+        private final double rate;
+        private final int expectedStatus;
+        private final double p95Millis;
+        private final double p99Millis;
+        private final double p999Millis;
+        private final Supplier<HttpRequest> requests;
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private final Map<String, Integer> errorKinds = new TreeMap<>();
+        private volatile RuntimeException failure;
+
+        Endpoint(String key, String name, double rate, int expectedStatus, double p95Millis, double p99Millis,
+                 double p999Millis, Supplier<HttpRequest> requests) {
+            this.key = key;
+            this.name = name;
+            this.rate = setting("loadtest.rate." + key, rate);
+            this.expectedStatus = expectedStatus;
+            this.p95Millis = setting("loadtest." + key + ".p95-ms", p95Millis);
+            this.p99Millis = setting("loadtest." + key + ".p99-ms", p99Millis);
+            this.p999Millis = setting("loadtest." + key + ".p999-ms", p999Millis);
+            this.requests = requests;
+        }
+
+        private static double setting(String name, double defaultValue) {
+            String value = System.getProperty(name);
+            return value == null ? defaultValue : Double.parseDouble(value);
+        }
+
+        void dispatch(HttpClient client, Semaphore inFlight, long begin, long measureFrom, long end) {
+            long intervalNanos = (long) (1e9 / rate);
+            for (long intended = begin; intended < end; intended += intervalNanos) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                boolean measured = intended >= measureFrom;
+                HttpRequest request;
+                try {
+                    request = requests.get();
+                } catch (RuntimeException e) {
+                    failure = e;
+                    return;
+                }
+                if (!inFlight.tryAcquire()) {
+                    if (measured) {
+                        record(System.nanoTime() - intended, "max-in-flight");
+                    }
+                    continue;
+                }
+                long scheduled = intended;
+                client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                    long latency = System.nanoTime() - scheduled;
+                    inFlight.release();
+                    if (measured) {
+                        record(latency, error != null ? error.getClass().getSimpleName()
+                                : response.statusCode() == expectedStatus ? null : "HTTP " + response.statusCode());
+                    }
+                });
+            }
+        }
+
+        // a null errorKind is a success
+        synchronized void record(long latencyNanos, String errorKind) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (errorKind != null) {
+                errors++;
+                errorKinds.merge(errorKind, 1, Integer::sum);
+            }
+        }
+
+        synchronized long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        List<String> violations() {
+            long[] sorted = sortedLatencies();
+            List<String> violations = new ArrayList<>();
+            if (failure != null) {
+                violations.add(name + ": stopped early, " + failure.getMessage());
+            }
+            if (sorted.length == 0) {
+                violations.add(name + ": no requests completed");
+                return violations;
+            }
+            double errorRate = (double) errors / sorted.length;
+            if (errorRate > MAX_ERROR_RATE) {
+                violations.add(String.format("%s: error rate %.4f > %.4f %s", name, errorRate, MAX_ERROR_RATE, errorKinds));
+            }
+            check(violations, "p95", percentileMillis(sorted, 0.95), p95Millis);
+            check(violations, "p99", percentileMillis(sorted, 0.99), p99Millis);
+            check(violations, "p999", percentileMillis(sorted, 0.999), p999Millis);
+            return violations;
+        }
+
+        private void check(List<String> violations, String percentile, double actualMillis, double thresholdMillis) {
+            if (actualMillis > thresholdMillis) {
+                violations.add(String.format("%s: %s %.1f ms > %.1f ms", name, percentile, actualMillis, thresholdMillis));
+            }
+        }
+    }
+}
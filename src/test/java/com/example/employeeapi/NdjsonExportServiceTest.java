@@ -0,0 +1,125 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.service.NdjsonExportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+// File-backed so a large dataset (e.g. -Dexport.test.rows=1000000) lives on disk and the heap only holds H2's bounded page cache.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:file:./target/h2/export;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;LAZY_QUERY_EXECUTION=1")
+public class NdjsonExportServiceTest {
+
+    private static final int EMPLOYEE_COUNT = 10_000;
+    private static final int LEAVE_REQUEST_COUNT = Integer.getInteger("export.test.rows", 10_000);
+    private static final long MAX_HEAP_GROWTH_BYTES = 32L * 1024 * 1024;
+
+    @Autowired
+    private NdjsonExportService ndjsonExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static boolean seeded;
+
+    @Before
+    public void setUp() {
+        if (seeded) {
+            return;
+        }
+        jdbcTemplate.update("insert into employees (id, name, hire_date, remaining_leave_days) "
+                + "select x, 'Employee ' || x, dateadd('DAY', -mod(x, 7000), date '2020-01-01'), 15 "
+                + "from system_range(1, ?) r(x)", EMPLOYEE_COUNT);
+        jdbcTemplate.update("insert into leave_requests (id, employee_id, start_date, end_date, total_leave_days, status, reason, note) "
+                + "select x, mod(x, ?) + 1, dateadd('DAY', mod(x, 365), date '2030-01-01'), "
+                + "dateadd('DAY', mod(x, 365) + 2, date '2030-01-01'), 3, 'WAITING_FOR_APPROVAL', 'VACATION', 'exported row ' || x "
+                + "from system_range(1, ?) r(x)", EMPLOYEE_COUNT, LEAVE_REQUEST_COUNT);
+        seeded = true;
+    }
+
+    @Test
+    public void testEmployeeExportWritesOneJsonObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = ndjsonExportService.exportEmployees(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(EMPLOYEE_COUNT, exported);
+        assertEquals(EMPLOYEE_COUNT, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(1, first.get("id").asLong());
+        assertEquals("Employee 1", first.get("name").asText());
+        assertEquals(15, first.get("remainingLeaveDays").asInt());
+    }
+
+    @Test
+    public void testLeaveRequestExportKeepsHeapBounded() {
+        HeapSamplingOutputStream out = new HeapSamplingOutputStream(Math.max(1, LEAVE_REQUEST_COUNT / 10));
+
+        long exported = ndjsonExportService.exportLeaveRequests(out);
+
+        assertEquals(LEAVE_REQUEST_COUNT, exported);
+        assertEquals(LEAVE_REQUEST_COUNT, out.lines);
+        assertTrue("heap grew by " + out.maxGrowth() / (1024 * 1024) + " MB during export",
+                out.maxGrowth() < MAX_HEAP_GROWTH_BYTES);
+    }
+
+    /**
+     * Discards the export and measures the live heap after a full GC every {@code sampleEvery} lines, relative to
+     * the live heap before the export started.
+     */
+    private static class HeapSamplingOutputStream extends OutputStream {
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final int sampleEvery;
+        private final long baseline;
+        private long lines;
+        private long maxUsed;
+
+        HeapSamplingOutputStream(int sampleEvery) {
+            this.sampleEvery = sampleEvery;
+            this.baseline = liveHeap();
+            this.maxUsed = baseline;
+        }
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines % sampleEvery == 0) {
+                maxUsed = Math.max(maxUsed, liveHeap());
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+
+        long maxGrowth() {
+            return maxUsed - baseline;
+        }
+
+        private long liveHeap() {
+            System.gc();
+            return memory.getHeapMemoryUsage().getUsed();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.entity.OutboxEvent;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.exception.InvalidLeaveRequestException;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.repository.LeaveRequestRepository;
+import com.example.employeeapi.repository.OutboxEventRepository;
+import com.example.employeeapi.service.LeaveRequestService;
+import com.example.employeeapi.service.OutboxDispatcher;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "employee-api.outbox.sink=file",
+        "employee-api.outbox.file=target/outbox/events.ndjson",
+        "employee-api.outbox.poll-interval-ms=3600000",
+        "employee-api.outbox.batch-size=7"
+})
+public class OutboxDispatcherTest {
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${employee-api.outbox.file}")
+    private Path outboxFile;
+
+    private final List<LeaveRequest> leaveRequests = new ArrayList<>();
+    private Employee employee;
+
+    @Before
+    public void setUp() throws Exception {
+        Files.deleteIfExists(outboxFile);
+        employee = employeeRepository.save(Employee.builder()
+                .name("John Doe")
+                .hireDate(LocalDate.of(2015, 1, 1))
+                .remainingLeaveDays(10)
+                .build());
+        LocalDate monday = LocalDate.now().plusYears(1).with(DayOfWeek.MONDAY);
+        for (int i = 0; i < 20; i++) {
+            leaveRequests.add(leaveRequestRepository.save(LeaveRequest.builder()
+                    .employee(employee)
+                    .startDate(monday.plusWeeks(i))
+                    .endDate(monday.plusWeeks(i).plusDays(1))
+                    .totalLeaveDays(2)
+                    .status(LeaveRequestStatus.WAITING_FOR_APPROVAL)
+                    .reason(LeaveRequestReason.VACATION)
+                    .build()));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        outboxEventRepository.deleteAllInBatch();
+        leaveRequestRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testStatusChangesAreWrittenWithTheChangeAndDelivered() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            leaveRequestService.updateLeaveRequestStatus(leaveRequests.get(i).getId(), LeaveRequestStatus.APPROVED);
+        }
+        for (int i = 5; i < 20; i++) {
+            leaveRequestService.updateLeaveRequestStatus(leaveRequests.get(i).getId(), LeaveRequestStatus.REJECTED);
+        }
+        // The balance is spent, so this approval rolls back together with its event.
+        leaveRequestService.updateLeaveRequestStatus(leaveRequests.get(5).getId(), LeaveRequestStatus.WAITING_FOR_APPROVAL);
+        assertThrows(InvalidLeaveRequestException.class,
+                () -> leaveRequestService.updateLeaveRequestStatus(leaveRequests.get(5).getId(), LeaveRequestStatus.APPROVED));
+        assertEquals(21, outboxEventRepository.countByDispatchedAtIsNull());
+        double sentBefore = meterRegistry.counter("outbox.events", "result", "sent").count();
+
+        int sent = outboxDispatcher.drain();
+
+        assertEquals(21, sent);
+        assertEquals(0, outboxEventRepository.countByDispatchedAtIsNull());
+        assertEquals(21, meterRegistry.counter("outbox.events", "result", "sent").count() - sentBefore, 0.0);
+        assertEquals(0.0, meterRegistry.get("outbox.pending").gauge().value(), 0.0);
+        List<String> lines = Files.readAllLines(outboxFile);
+        assertEquals(21, lines.size());
+        JsonNode first = objectMapper.readTree(lines.stream()
+                .filter(line -> line.contains("\"leaveRequestId\":" + leaveRequests.get(0).getId() + ","))
+                .findFirst()
+                .orElseThrow());
+        assertEquals("LEAVE_REQUEST_STATUS_CHANGED", first.get("type").asText());
+        assertEquals("WAITING_FOR_APPROVAL", first.get("payload").get("previousStatus").asText());
+        assertEquals("APPROVED", first.get("payload").get("status").asText());
+        assertEquals(employee.getId().longValue(), first.get("payload").get("employeeId").asLong());
+        assertEquals(0, outboxDispatcher.drain());
+    }
+
+    @Test
+    public void testFailedEventsAreRetriedInOrderPerLeaveRequest() {
+        LeaveRequest flaky = leaveRequests.get(0);
+        leaveRequestService.updateLeaveRequestStatus(flaky.getId(), LeaveRequestStatus.REJECTED);
+        leaveRequestService.updateLeaveRequestStatus(flaky.getId(), LeaveRequestStatus.WAITING_FOR_APPROVAL);
+        for (int i = 1; i < 10; i++) {
+            leaveRequestService.updateLeaveRequestStatus(leaveRequests.get(i).getId(), LeaveRequestStatus.CANCELED);
+        }
+        Set<Long> failOnce = ConcurrentHashMap.newKeySet();
+        List<Long> delivered = Collections.synchronizedList(new ArrayList<>());
+        OutboxDispatcher dispatcher = new OutboxDispatcher(outboxEventRepository, event -> {
+            if (event.getAggregateId().equals(flaky.getId()) && failOnce.add(event.getAggregateId())) {
+                throw new IllegalStateException("downstream unavailable");
+            }
+            delivered.add(event.getId());
+        }, transactionTemplate, new SimpleMeterRegistry(), 4, 3, 3, 3_600_000, Duration.ofDays(7));
+
+        assertEquals(9, dispatcher.drain());
+        List<OutboxEvent> flakyEvents = outboxEventRepository.findAll().stream()
+                .filter(event -> event.getAggregateId().equals(flaky.getId()))
+                .sorted(Comparator.comparing(OutboxEvent::getId))
+                .toList();
+        assertEquals(1, flakyEvents.get(0).getAttempts());
+        assertEquals("downstream unavailable", flakyEvents.get(0).getLastError());
+        assertNull(flakyEvents.get(0).getDispatchedAt());
+        assertEquals(0, flakyEvents.get(1).getAttempts());
+
+        assertEquals(0, dispatcher.drain());
+
+        OutboxEvent retry = flakyEvents.get(0);
+        retry.setNextAttemptAt(Instant.now());
+        outboxEventRepository.save(retry);
+        assertEquals(2, dispatcher.drain());
+        dispatcher.shutdown();
+
+        List<Long> flakyIds = flakyEvents.stream().map(OutboxEvent::getId).collect(Collectors.toList());
+        assertEquals(flakyIds, delivered.stream().filter(flakyIds::contains).toList());
+        outboxEventRepository.findAll().forEach(event -> assertNotNull(event.getDispatchedAt()));
+    }
+
+    @Test
+    public void testExhaustedEventsAreDeadAndOldSentEventsArePurged() {
+        leaveRequestService.updateLeaveRequestStatus(leaveRequests.get(0).getId(), LeaveRequestStatus.CANCELED);
+        leaveRequestService.updateLeaveRequestStatus(leaveRequests.get(1).getId(), LeaveRequestStatus.CANCELED);
+        leaveRequestService.updateLeaveRequestStatus(leaveRequests.get(2).getId(), LeaveRequestStatus.CANCELED);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        Long broken = leaveRequests.get(0).getId();
+        OutboxDispatcher dispatcher = new OutboxDispatcher(outboxEventRepository, event -> {
+            if (event.getAggregateId().equals(broken)) {
+                throw new IllegalStateException("rejected");
+            }
+        }, transactionTemplate, registry, 4, 1, 1, 3_600_000, Duration.ofDays(7));
+
+        assertEquals(2, dispatcher.drain());
+        assertEquals(0.0, registry.get("outbox.pending").gauge().value(), 0.0);
+        assertEquals(1.0, registry.get("outbox.dead").gauge().value(), 0.0);
+        List<OutboxEvent> events = outboxEventRepository.findAll().stream()
+                .sorted(Comparator.comparing(OutboxEvent::getId))
+                .toList();
+        assertNotNull(events.get(0).getDeadAt());
+        assertNull(events.get(0).getDispatchedAt());
+
+        OutboxEvent old = events.get(1);
+        old.setDispatchedAt(Instant.now().minus(Duration.ofDays(8)));
+        outboxEventRepository.save(old);
+        assertEquals(1, dispatcher.purge());
+        dispatcher.shutdown();
+
+        List<Long> remaining = outboxEventRepository.findAll().stream().map(OutboxEvent::getId).sorted().toList();
+        assertEquals(List.of(events.get(0).getId(), events.get(2).getId()), remaining);
+        assertEquals(1.0, registry.get("outbox.dead").gauge().value(), 0.0);
+    }
+}
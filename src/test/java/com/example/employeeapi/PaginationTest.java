@@ -0,0 +1,140 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.exception.InvalidCursorException;
+import com.example.employeeapi.model.CursorPage;
+import com.example.employeeapi.model.EmployeeFilter;
+import com.example.employeeapi.model.LeaveRequestFilter;
+import com.example.employeeapi.model.LeaveRequestSummaryDto;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.repository.LeaveRequestRepository;
+import com.example.employeeapi.service.EmployeeService;
+import com.example.employeeapi.service.LeaveRequestService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class PaginationTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    private final List<Employee> employees = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        LocalDate start = LocalDate.of(2030, 1, 7);
+        for (int i = 0; i < 25; i++) {
+            employees.add(employeeRepository.save(Employee.builder()
+                    .name("Employee " + i)
+                    .hireDate(LocalDate.of(2000 + i, 1, 1))
+                    .remainingLeaveDays(20)
+                    .build()));
+        }
+        List<LeaveRequest> leaveRequests = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            leaveRequests.add(LeaveRequest.builder()
+                    .employee(employees.get(i % 5))
+                    .startDate(start.plusWeeks(i))
+                    .endDate(start.plusWeeks(i).plusDays(2))
+                    .totalLeaveDays(3)
+                    .status(i % 2 == 0 ? LeaveRequestStatus.APPROVED : LeaveRequestStatus.WAITING_FOR_APPROVAL)
+                    .reason(LeaveRequestReason.VACATION)
+                    .build());
+        }
+        leaveRequestRepository.saveAll(leaveRequests);
+    }
+
+    @After
+    public void tearDown() {
+        leaveRequestRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testEmployeePagesCoverEveryRowOnce() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<Employee> page = employeeService.listEmployees(new EmployeeFilter(), cursor, 10);
+            page.getItems().forEach(employee -> seen.add(employee.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(employees.stream().map(Employee::getId).toList(), seen);
+    }
+
+    @Test
+    public void testEmployeeHireDateFilter() {
+        EmployeeFilter filter = EmployeeFilter.builder()
+                .hiredFrom(LocalDate.of(2010, 1, 1))
+                .hiredTo(LocalDate.of(2014, 12, 31))
+                .build();
+
+        CursorPage<Employee> page = employeeService.listEmployees(filter, null, 50);
+
+        assertEquals(5, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void testLeaveRequestFiltersAndPaging() {
+        LeaveRequestFilter filter = LeaveRequestFilter.builder()
+                .employeeId(employees.get(0).getId())
+                .status(LeaveRequestStatus.APPROVED)
+                .build();
+
+        CursorPage<LeaveRequestSummaryDto> first = leaveRequestService.list(filter, null, 5);
+        CursorPage<LeaveRequestSummaryDto> second = leaveRequestService.list(filter, first.getNextCursor(), 5);
+
+        assertEquals(5, first.getItems().size());
+        assertEquals(5, second.getItems().size());
+        assertNull(second.getNextCursor());
+        assertTrue(first.getItems().get(4).getId() < second.getItems().get(0).getId());
+        assertTrue(second.getItems().stream().allMatch(leaveRequest -> leaveRequest.getStatus() == LeaveRequestStatus.APPROVED));
+    }
+
+    @Test
+    public void testLeaveRequestDateRangeFilter() {
+        LeaveRequestFilter filter = LeaveRequestFilter.builder()
+                .from(LocalDate.of(2030, 1, 9))
+                .to(LocalDate.of(2030, 1, 14))
+                .build();
+
+        CursorPage<LeaveRequestSummaryDto> page = leaveRequestService.list(filter, null, 50);
+
+        assertEquals(2, page.getItems().size());
+    }
+
+    @Test
+    public void testInvalidCursorIsRejected() {
+        assertThrows(InvalidCursorException.class, () -> employeeService.listEmployees(new EmployeeFilter(), "not-a-cursor", 10));
+    }
+}
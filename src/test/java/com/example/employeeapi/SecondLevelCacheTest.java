@@ -0,0 +1,132 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.model.LeaveRequestDto;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.repository.LeaveRequestRepository;
+import com.example.employeeapi.service.LeaveAccrualService;
+import com.example.employeeapi.service.LeaveRequestService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class SecondLevelCacheTest {
+
+    private static final LocalDate MONDAY = LocalDate.now().plusYears(1).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private LeaveAccrualService leaveAccrualService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Employee employee;
+
+    @Before
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        employee = employeeRepository.save(Employee.builder()
+                .name("John Doe")
+                .hireDate(LocalDate.of(2010, 1, 1))
+                .remainingLeaveDays(30)
+                .build());
+    }
+
+    @After
+    public void tearDown() {
+        leaveRequestRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testEmployeeIsServedFromCacheUntilBulkUpdate() {
+        employeeRepository.findById(employee.getId());
+        long hits = hits();
+
+        employeeRepository.findById(employee.getId());
+        assertEquals(hits + 1, hits());
+
+        // native statements on other tables name their query spaces and leave the region alone
+        leaveRequestService.createLeaveRequest(LeaveRequestDto.builder()
+                .employeeId(employee.getId())
+                .startDate(MONDAY)
+                .endDate(MONDAY.plusDays(2))
+                .reason(LeaveRequestReason.VACATION)
+                .build());
+        hits = hits();
+        employeeRepository.findById(employee.getId());
+        assertEquals(hits + 1, hits());
+
+        leaveAccrualService.runSetBased();
+
+        Employee accrued = employeeRepository.findById(employee.getId()).orElseThrow();
+        assertEquals(hits + 1, hits());
+        assertEquals(employeeRepository.findVersionById(employee.getId()).orElseThrow().longValue(), accrued.getVersion());
+    }
+
+    @Test
+    public void testApprovalDebitIsNotServedStale() {
+        Employee colleague = employeeRepository.save(Employee.builder()
+                .name("Jane Doe")
+                .hireDate(LocalDate.of(2010, 1, 1))
+                .remainingLeaveDays(30)
+                .build());
+        employeeRepository.findById(colleague.getId());
+        LeaveRequest leaveRequest = leaveRequestService.createLeaveRequest(LeaveRequestDto.builder()
+                .employeeId(employee.getId())
+                .startDate(MONDAY)
+                .endDate(MONDAY.plusDays(2))
+                .reason(LeaveRequestReason.VACATION)
+                .build());
+        employeeRepository.findById(employee.getId());
+        long hits = hits();
+        employeeRepository.findById(employee.getId());
+        assertEquals(hits + 1, hits());
+
+        leaveRequestService.updateLeaveRequestStatus(leaveRequest.getId(), LeaveRequestStatus.APPROVED);
+
+        LeaveRequest approved = leaveRequestRepository.findById(leaveRequest.getId()).orElseThrow();
+        assertEquals(LeaveRequestStatus.APPROVED, approved.getStatus());
+        assertEquals(27, approved.getEmployee().getRemainingLeaveDays().intValue());
+        assertEquals(27, employeeRepository.findById(employee.getId()).orElseThrow().getRemainingLeaveDays().intValue());
+
+        // the debit evicts only the employee it changed
+        hits = hits();
+        employeeRepository.findById(colleague.getId());
+        assertEquals(hits + 1, hits());
+    }
+
+    private long hits() {
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(Employee.class.getName());
+        return region.getHitCount();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.enums.AdmissionOutcome;
+import com.example.employeeapi.helper.StripedTokenBuckets;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StripedTokenBucketsTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testBurstThenRefillAtRate() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(4, 100, 2, 3, 10);
+
+        for (int i = 0; i < 3; i++) {
+            buckets.tryAcquire("hr-sync", 0).release();
+        }
+        StripedTokenBuckets.Admission rejected = buckets.tryAcquire("hr-sync", 0);
+        assertEquals(AdmissionOutcome.RATE_LIMITED, rejected.getOutcome());
+        assertEquals(SECOND / 2, rejected.getRetryAfterNanos());
+
+        assertTrue(buckets.tryAcquire("hr-sync", SECOND / 2).isAdmitted());
+        assertEquals(AdmissionOutcome.RATE_LIMITED, buckets.tryAcquire("hr-sync", SECOND / 2).getOutcome());
+        assertTrue(buckets.tryAcquire("someone-else", 0).isAdmitted());
+    }
+
+    @Test
+    public void testInFlightLimitPerKey() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(1, 10, 100, 100, 2);
+
+        StripedTokenBuckets.Admission first = buckets.tryAcquire("hr-sync", 0);
+        buckets.tryAcquire("hr-sync", 0);
+        assertEquals(AdmissionOutcome.CLIENT_CONCURRENCY_LIMITED, buckets.tryAcquire("hr-sync", 0).getOutcome());
+
+        first.release();
+        assertTrue(buckets.tryAcquire("hr-sync", 0).isAdmitted());
+    }
+
+    @Test
+    public void testCancelRefundsToken() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(1, 10, 1, 1, 1);
+
+        buckets.tryAcquire("hr-sync", 0).cancel();
+
+        assertTrue(buckets.tryAcquire("hr-sync", 0).isAdmitted());
+    }
+
+    @Test
+    public void testIdleKeysAreEvictedWhenStripeIsFull() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(2, 10, 1, 1, 1);
+
+        StripedTokenBuckets.Admission busy = buckets.tryAcquire("client-0", 0);
+        for (int i = 1; i < 1_000; i++) {
+            buckets.tryAcquire("client-" + i, 0).release();
+        }
+
+        assertTrue(buckets.size() <= 11);
+        assertEquals(AdmissionOutcome.CLIENT_CONCURRENCY_LIMITED, buckets.tryAcquire("client-0", 0).getOutcome());
+        busy.release();
+    }
+}
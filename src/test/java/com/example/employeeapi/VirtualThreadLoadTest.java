@@ -0,0 +1,165 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.entity.Employee;
+import com.example.employeeapi.entity.LeaveRequest;
+import com.example.employeeapi.enums.LeaveRequestReason;
+import com.example.employeeapi.enums.LeaveRequestStatus;
+import com.example.employeeapi.helper.VirtualThreads;
+import com.example.employeeapi.repository.EmployeeRepository;
+import com.example.employeeapi.repository.LeaveRequestRepository;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Drives the same read workload against the application once on Tomcat's platform thread pool and once in
+ * virtual-thread mode, and prints throughput and latency percentiles for both. The virtual-thread run is skipped on
+ * runtimes without virtual threads. Run with {@code mvn -Ploadtest test}.
+ */
+public class VirtualThreadLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 200);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("loadtest.requests", 50);
+    private static final int EMPLOYEES = 50;
+
+    private static final Map<String, Result> results = new ConcurrentHashMap<>();
+
+    @Test
+    public void testPlatformThreads() throws Exception {
+        results.put("platform", run(false));
+    }
+
+    @Test
+    public void testVirtualThreads() throws Exception {
+        Assume.assumeTrue("virtual threads need Java 21+", VirtualThreads.isSupported());
+        results.put("virtual", run(true));
+    }
+
+    @AfterClass
+    public static void printComparison() {
+        results.forEach((mode, result) -> System.out.printf(
+                "%-8s %d requests, %.0f req/s, p50 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                mode, result.requests, result.throughput, result.p50Millis, result.p99Millis, result.maxMillis));
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(EmployeeApiApplication.class)
+                .properties("server.port=0",
+                        "employee-api.threads.virtual=" + virtualThreads,
+                        "spring.datasource.hikari.maximum-pool-size=10",
+                        "logging.level.root=WARN")
+                .run();
+        try {
+            seed(context);
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            return drive(port);
+        } finally {
+            context.close();
+        }
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+        LeaveRequestRepository leaveRequestRepository = context.getBean(LeaveRequestRepository.class);
+        List<LeaveRequest> leaveRequests = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = employeeRepository.save(Employee.builder()
+                    .name("Load Employee " + i)
+                    .hireDate(LocalDate.of(2015, 1, 1))
+                    .remainingLeaveDays(20)
+                    .build());
+            for (int j = 0; j < 20; j++) {
+                leaveRequests.add(LeaveRequest.builder()
+                        .employee(employee)
+                        .startDate(LocalDate.of(2030, 1, 1).plusDays(j * 7L))
+                        .endDate(LocalDate.of(2030, 1, 2).plusDays(j * 7L))
+                        .totalLeaveDays(2)
+                        .status(LeaveRequestStatus.WAITING_FOR_APPROVAL)
+                        .reason(LeaveRequestReason.VACATION)
+                        .build());
+            }
+        }
+        leaveRequestRepository.saveAll(leaveRequests);
+    }
+
+    private Result drive(int port) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                int clientIndex = c;
+                futures.add(clients.submit(() -> {
+                    start.await();
+                    int failures = 0;
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        int employee = (clientIndex * REQUESTS_PER_CLIENT + r) % EMPLOYEES + 1;
+                        HttpRequest request = HttpRequest.newBuilder(
+                                URI.create("http://localhost:" + port + "/leaveRequest?limit=20&employeeId=" + employee)).build();
+                        long begin = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[clientIndex * REQUESTS_PER_CLIENT + r] = System.nanoTime() - begin;
+                        if (response.statusCode() != 200) {
+                            failures++;
+                        }
+                    }
+                    return failures;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            int failures = 0;
+            for (Future<Integer> future : futures) {
+                failures += future.get(10, TimeUnit.MINUTES);
+            }
+            long elapsed = System.nanoTime() - begin;
+            assertEquals(0, failures);
+            return Result.of(latencies, elapsed);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private static class Result {
+        private long requests;
+        private double throughput;
+        private double p50Millis;
+        private double p99Millis;
+        private double maxMillis;
+
+        static Result of(long[] latencies, long elapsedNanos) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            Result result = new Result();
+            result.requests = sorted.length;
+            result.throughput = sorted.length * 1e9 / elapsedNanos;
+            result.p50Millis = sorted[(int) (sorted.length * 0.50)] / 1e6;
+            result.p99Millis = sorted[(int) Math.ceil(sorted.length * 0.99) - 1] / 1e6;
+            result.maxMillis = sorted[sorted.length - 1] / 1e6;
+            return result;
+        }
+    }
+}
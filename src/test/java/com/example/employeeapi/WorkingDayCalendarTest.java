@@ -0,0 +1,81 @@
+package com.example.employeeapi;
+
+import com.example.employeeapi.exception.InvalidDateException;
+import com.example.employeeapi.helper.DateHelper;
+import com.example.employeeapi.helper.WorkingDayCalendar;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class WorkingDayCalendarTest {
+
+    private final Set<LocalDate> holidays = new HashSet<>(Set.of(
+            LocalDate.of(2024, 1, 1),
+            LocalDate.of(2024, 12, 25),
+            LocalDate.of(2025, 1, 1),
+            LocalDate.of(2025, 5, 1),
+            LocalDate.of(2025, 5, 3), // Saturday, must not be subtracted twice
+            LocalDate.of(2026, 1, 1)));
+
+    private final WorkingDayCalendar calendar = new WorkingDayCalendar(() -> holidays);
+
+    @Test
+    public void testCountWorkingDaysMatchesDayByDayCount() {
+        LocalDate first = LocalDate.of(2023, 11, 1);
+        LocalDate last = LocalDate.of(2026, 3, 1);
+        for (LocalDate start = first; start.isBefore(last); start = start.plusDays(3)) {
+            for (int span = -2; span <= 800; span += 17) {
+                LocalDate end = start.plusDays(span);
+                assertEquals(start + ".." + end, expectedWorkingDays(start, end), calendar.countWorkingDays(start, end));
+            }
+        }
+    }
+
+    @Test
+    public void testHolidaysAreNotWorkingDays() {
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2025, 5, 1)));
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2025, 5, 3)));
+        assertTrue(calendar.isWorkingDay(LocalDate.of(2025, 5, 2)));
+        assertEquals(4, calendar.countWorkingDays(LocalDate.of(2024, 12, 23), LocalDate.of(2024, 12, 27)));
+    }
+
+    @Test
+    public void testReloadPicksUpNewHolidays() {
+        LocalDate day = LocalDate.of(2025, 7, 15);
+        assertTrue(calendar.isWorkingDay(day));
+
+        holidays.add(day);
+        calendar.reload();
+
+        assertFalse(calendar.isWorkingDay(day));
+        assertEquals(4, calendar.countWorkingDays(LocalDate.of(2025, 7, 14), LocalDate.of(2025, 7, 18)));
+    }
+
+    @Test
+    public void testRejectsYearsOutsideWindow() {
+        WorkingDayCalendar narrow = new WorkingDayCalendar(() -> holidays, 1, 2);
+        int thisYear = LocalDate.now().getYear();
+
+        assertTrue(narrow.supports(LocalDate.of(thisYear - 1, 1, 1), LocalDate.of(thisYear + 2, 12, 31)));
+        assertFalse(narrow.supports(LocalDate.now(), LocalDate.of(9999, 12, 31)));
+        assertThrows(InvalidDateException.class, () -> narrow.countWorkingDays(LocalDate.now(), LocalDate.of(9999, 12, 31)));
+        assertThrows(InvalidDateException.class, () -> narrow.isWorkingDay(LocalDate.of(thisYear - 2, 6, 1)));
+    }
+
+    private int expectedWorkingDays(LocalDate start, LocalDate end) {
+        int count = 0;
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            if (!DateHelper.isWeekend(date) && !holidays.contains(date)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}